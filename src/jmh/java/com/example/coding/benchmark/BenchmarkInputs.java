@@ -0,0 +1,57 @@
+package com.example.coding.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic inputs for the benchmarks. Every generator is seeded so two builds
+ * benchmark exactly the same data and their JSON reports can be diffed.
+ */
+final class BenchmarkInputs {
+
+    static final long SEED = 42L;
+
+    private BenchmarkInputs() {
+    }
+
+    /** Worst case for the two-pointer check: a full-length palindrome. */
+    static String palindrome(int length) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        char[] chars = new char[length];
+        for (int left = 0, right = length - 1; left <= right; left++, right--) {
+            char c = (char) ('a' + random.nextInt(26));
+            chars[left] = c;
+            chars[right] = c;
+        }
+        return new String(chars);
+    }
+
+    static String lowercase(int length) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(chars);
+    }
+
+    static List<Integer> integers(int size) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<Integer> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(random.nextInt(1_000));
+        }
+        return list;
+    }
+
+    /** Roughly half zeros, so the compaction branch is unpredictable. */
+    static int[] sparseInts(int size) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextBoolean() ? 0 : 1 + random.nextInt(1_000);
+        }
+        return values;
+    }
+}
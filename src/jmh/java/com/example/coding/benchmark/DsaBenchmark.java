@@ -0,0 +1,75 @@
+package com.example.coding.benchmark;
+
+import com.example.coding.DSA.ArrayNonZero;
+import com.example.coding.DSA.LongSubString;
+import com.example.coding.DSA.Palindrome;
+import com.example.coding.design.DsaCode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Every {@link DsaCode} implementation, through its primitive-returning entry point. Palindrome
+ * and ArrayNonZero switch to Vector API kernels from {@code app.dsa.vector-threshold} elements;
+ * their {@code ...Scalar} twins pin the scalar loop for comparison.
+ */
+@State(Scope.Benchmark)
+public class DsaBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    int size;
+
+    private final Palindrome palindrome = new Palindrome();
+    private final LongSubString longSubString = new LongSubString();
+    private final ArrayNonZero arrayNonZero = new ArrayNonZero();
+
+    private String palindromeInput;
+    private String lowercaseInput;
+    private int[] sparseInput;
+    private int[] workingArray;
+    private final int[] lastSeen = new int[128];
+
+    @Setup
+    public void setUp() {
+        palindromeInput = BenchmarkInputs.palindrome(size);
+        lowercaseInput = BenchmarkInputs.lowercase(size);
+        sparseInput = BenchmarkInputs.sparseInts(size);
+        workingArray = new int[size];
+    }
+
+    @Benchmark
+    public boolean palindrome() {
+        return palindrome.isPalindrome(palindromeInput);
+    }
+
+    @Benchmark
+    public boolean palindromeScalar() {
+        return palindrome.isPalindromeScalar(palindromeInput);
+    }
+
+    @Benchmark
+    public int longSubString() {
+        return longSubString.longestUniqueLength(lowercaseInput, new int[128]);
+    }
+
+    // same as longSubString with a reused scratch table: no allocation per call
+    @Benchmark
+    public int longSubStringReusedTable() {
+        return longSubString.longestUniqueLength(lowercaseInput, lastSeen);
+    }
+
+    // compaction is in place, so each call restores the input first; the copy is part of the score
+    @Benchmark
+    public int arrayNonZero() {
+        System.arraycopy(sparseInput, 0, workingArray, 0, size);
+        return arrayNonZero.moveZerosToEnd(workingArray);
+    }
+
+    @Benchmark
+    public int arrayNonZeroScalar() {
+        System.arraycopy(sparseInput, 0, workingArray, 0, size);
+        return arrayNonZero.moveZerosToEndScalar(workingArray);
+    }
+}
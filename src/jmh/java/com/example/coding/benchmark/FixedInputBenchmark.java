@@ -0,0 +1,37 @@
+package com.example.coding.benchmark;
+
+import com.example.coding.service.TemplateRunnerService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Endpoints that run on built-in sample data and take no caller input, so there is
+ * no size dimension to sweep.
+ */
+@State(Scope.Benchmark)
+public class FixedInputBenchmark {
+
+    private final TemplateRunnerService runner = new TemplateRunnerService("", new SimpleMeterRegistry());
+
+    @Benchmark
+    public String arrayNonZero() {
+        return runner.runDsa("arrayNonZero", null);
+    }
+
+    @Benchmark
+    public String evenIntArray() {
+        return runner.runStreamsEvenIntArray();
+    }
+
+    @Benchmark
+    public String evenList() {
+        return runner.runStreamsEvenList();
+    }
+
+    @Benchmark
+    public String squareList() {
+        return runner.runStreamsSquareList();
+    }
+}
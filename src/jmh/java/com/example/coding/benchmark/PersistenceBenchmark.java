@@ -0,0 +1,135 @@
+package com.example.coding.benchmark;
+
+import com.example.coding.model.DemoEpisode;
+import com.example.coding.repository.CharacterRepository;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link CharacterRepository#saveAll} the way UpstreamStore drains its write-behind queue, through
+ * an EntityManagerFactory built with {@code hibernate.jdbc.batch_size} ({@code batchSize=100}) and
+ * without it ({@code batchSize=0}). Runs on embedded H2 by default; point it at a scratch MySQL
+ * schema with {@code -PjmhJdbcUrl=jdbc:mysql://host/db -PjmhJdbcUser=.. -PjmhJdbcPassword=..},
+ * where the pool gets the same driver properties as application.properties (rewriteBatchedStatements
+ * turns each batch into one multi-row INSERT). The character table is created and dropped by the run.
+ */
+@State(Scope.Benchmark)
+public class PersistenceBenchmark {
+
+    @Param({"jdbc:h2:mem:bench;MODE=MySQL;DB_CLOSE_DELAY=-1"})
+    String jdbcUrl;
+
+    @Param({"sa"})
+    String jdbcUser;
+
+    @Param({""})
+    String jdbcPassword;
+
+    @Param({"1000"})
+    int rows;
+
+    // 0 leaves hibernate.jdbc.batch_size unset, i.e. one INSERT round trip per entity
+    @Param({"0", "100"})
+    int batchSize;
+
+    private HikariDataSource dataSource;
+    private EntityManagerFactory entityManagerFactory;
+    private TransactionTemplate transaction;
+    private CharacterRepository characters;
+    private int nextId;
+
+    @Setup
+    public void setUp() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(jdbcUrl);
+        config.setUsername(jdbcUser);
+        config.setPassword(jdbcPassword);
+        config.setMaximumPoolSize(1);
+        config.addDataSourceProperty("cachePrepStmts", "true");
+        config.addDataSourceProperty("prepStmtCacheSize", "250");
+        config.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+        config.addDataSourceProperty("useServerPrepStmts", "true");
+        config.addDataSourceProperty("rewriteBatchedStatements", "true");
+        dataSource = new HikariDataSource(config);
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("hibernate.hbm2ddl.auto", "create-drop");
+        properties.put("hibernate.order_inserts", "true");
+        if (batchSize > 0) {
+            properties.put("hibernate.jdbc.batch_size", String.valueOf(batchSize));
+        }
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        // only the entity under test, so the run creates and drops just its table
+        factory.setManagedTypes(PersistenceManagedTypes.of(DemoEpisode.class.getName()));
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(properties);
+        factory.afterPropertiesSet();
+        entityManagerFactory = factory.getObject();
+
+        transaction = new TransactionTemplate(new JpaTransactionManager(entityManagerFactory));
+        characters = new JpaRepositoryFactory(SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory))
+                .getRepository(CharacterRepository.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void truncate() {
+        transaction.executeWithoutResult(status -> characters.deleteAllInBatch());
+        nextId = 0;
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManagerFactory.close();
+        dataSource.close();
+    }
+
+    /** save() per row, each in its own transaction: one INSERT and one commit per row. */
+    @Benchmark
+    public int savePerRow() {
+        int written = 0;
+        for (int i = 0; i < rows; i++) {
+            DemoEpisode character = nextCharacter();
+            transaction.executeWithoutResult(status -> characters.save(character));
+            written++;
+        }
+        return written;
+    }
+
+    /** saveAll() in one transaction: the INSERTs go out in batches of batchSize when it is set. */
+    @Benchmark
+    public int saveAll() {
+        List<DemoEpisode> batch = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            batch.add(nextCharacter());
+        }
+        return transaction.execute(status -> characters.saveAll(batch)).size();
+    }
+
+    private DemoEpisode nextCharacter() {
+        DemoEpisode character = new DemoEpisode();
+        character.setId(++nextId);
+        character.setName("Character " + nextId);
+        return character;
+    }
+}
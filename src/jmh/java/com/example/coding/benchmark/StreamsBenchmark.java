@@ -0,0 +1,47 @@
+package com.example.coding.benchmark;
+
+import com.example.coding.model.NumericSummary;
+import com.example.coding.service.NumericAnalyticsService;
+import com.example.coding.service.TemplateRunnerService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * The boxed JSON-body sum behind /run/streams/sum against the primitive one-pass summary
+ * behind /run/streams/stats, on the same data.
+ */
+@State(Scope.Benchmark)
+public class StreamsBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    int size;
+
+    private final TemplateRunnerService runner = new TemplateRunnerService("", new SimpleMeterRegistry());
+
+    private final NumericAnalyticsService analytics = new NumericAnalyticsService(100_000);
+
+    private List<Integer> numbers;
+    private int[] primitives;
+
+    @Setup
+    public void setUp() {
+        numbers = BenchmarkInputs.integers(size);
+        primitives = numbers.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    @Benchmark
+    public String sum() {
+        return runner.runStreamsSum(numbers);
+    }
+
+    @Benchmark
+    public NumericSummary stats() {
+        return analytics.summarize(primitives);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.coding.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Load test knobs, read from {@code loadtest.*} system properties ({@code ./gradlew loadTest
+ * -Ploadtest.rate=500} passes them through). Everything random is derived from {@code seed}, so two
+ * runs with the same settings send the same requests in the same order against the same stub delays.
+ *
+ * @param rate             requests per second, sent on schedule whether or not earlier ones finished
+ * @param warmup           load before measuring, to get past JIT compilation and cold caches
+ * @param duration         measured load
+ * @param mix              relative weight per route: episode, fetch, dsa, sum
+ * @param maxInFlight      client-side cap; arrivals beyond it are counted as dropped, not queued
+ * @param seed             seed for the route mix, request parameters and stub latencies
+ * @param stubLatency      median upstream latency; zero for an instant stub
+ * @param stubSigma        log-normal spread of upstream latency
+ * @param episodes         episode ids requested, 1..episodes; more ids than the caches hold keeps upstream busy
+ * @param stubCharacters   characters per episode, i.e. the fan-out behind /api/episode/{id}
+ * @param stubPadding      extra bytes per upstream character object
+ * @param dsaInputLength   length of the palindrome posted to /run/dsa/Palindrome
+ * @param sumInputLength   number of ints posted to /run/streams/sum
+ * @param reportDir        where the summary and per-route percentile distributions are written
+ */
+record LoadSettings(int rate, Duration warmup, Duration duration, Map<String, Integer> mix, int maxInFlight,
+                    long seed, Duration stubLatency, double stubSigma, int episodes, int stubCharacters, int stubPadding,
+                    int dsaInputLength, int sumInputLength, Path reportDir) {
+
+    static LoadSettings fromSystemProperties() {
+        return new LoadSettings(
+                Integer.parseInt(property("rate", "200")),
+                duration(property("warmup", "10s")),
+                duration(property("duration", "30s")),
+                mix(property("mix", "episode:70,fetch:10,dsa:10,sum:10")),
+                Integer.parseInt(property("max-in-flight", "10000")),
+                Long.parseLong(property("seed", "42")),
+                duration(property("stub-latency", "50ms")),
+                Double.parseDouble(property("stub-sigma", "0.5")),
+                Integer.parseInt(property("episodes", "51")),
+                Integer.parseInt(property("stub-characters", "20")),
+                Integer.parseInt(property("stub-padding", "0")),
+                Integer.parseInt(property("dsa-input-length", "1000")),
+                Integer.parseInt(property("sum-input-length", "1000")),
+                Path.of(property("report-dir", "build/reports/loadtest")));
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("loadtest." + name, defaultValue);
+    }
+
+    // "500ms", "30s", "2m" as in application.properties
+    static Duration duration(String value) {
+        String text = value.trim().toLowerCase(Locale.ROOT);
+        if (text.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(text.substring(0, text.length() - 2)));
+        }
+        long amount = Long.parseLong(text.substring(0, text.length() - 1));
+        return switch (text.charAt(text.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            default -> throw new IllegalArgumentException("Unsupported duration: " + value);
+        };
+    }
+
+    private static Map<String, Integer> mix(String value) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split(":");
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(parts[0].trim(), weight);
+            }
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.coding.loadtest;
+
+import com.example.coding.CodingApplication;
+import com.example.coding.stub.UpstreamStub;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.Map;
+
+/**
+ * End-to-end load test: starts {@link UpstreamStub} with seeded log-normal latency, starts the
+ * application on a random port pointed at it (embedded H2, no warm-up sweep, no demo), offers
+ * open-model load to the DemoController and TemplateController routes, and reports per-route
+ * latency percentiles and throughput. Run with {@code ./gradlew loadTest}; see {@link LoadSettings}
+ * for the {@code -Ploadtest.*} knobs. {@code -Papp.*} and {@code -Pspring.*} properties reach the
+ * application, e.g. {@code -Papp.cache.ttl-seconds=1}.
+ *
+ * <p>Stub, application and load generator share one JVM, so absolute numbers understate a real
+ * deployment; the run is for comparing builds on the same machine with the same settings.
+ */
+public final class LoadTest {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadSettings settings = LoadSettings.fromSystemProperties();
+        try (UpstreamStub stub = UpstreamStub.start()) {
+            stub.setLatency(settings.stubLatency().isZero()
+                    ? UpstreamStub.Latency.fixed(settings.stubLatency())
+                    : UpstreamStub.Latency.logNormal(settings.stubLatency(), settings.stubSigma(), settings.seed()));
+            stub.setCatalogSize(settings.episodes(), 826);
+            stub.setCharactersPerEpisode(settings.stubCharacters());
+            stub.setCharacterPadding(settings.stubPadding());
+
+            // as system properties these win over application.properties, but not over -P/-D values
+            applicationDefaults(stub).forEach(System.getProperties()::putIfAbsent);
+            try (ConfigurableApplicationContext app = new SpringApplicationBuilder(CodingApplication.class).run(args)) {
+                int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+                OpenLoadGenerator generator = new OpenLoadGenerator(URI.create("http://127.0.0.1:" + port + "/"), settings);
+
+                System.out.printf("Load test: %s%n", settings);
+                System.out.printf("Warming up for %s...%n", settings.warmup());
+                generator.run(settings.warmup());
+                System.out.printf("Measuring for %s...%n", settings.duration());
+                OpenLoadGenerator.Result result = generator.run(settings.duration());
+
+                print(result, settings, System.out);
+                write(result, settings);
+            }
+        }
+    }
+
+    private static Map<String, String> applicationDefaults(UpstreamStub stub) {
+        return Map.ofEntries(
+                Map.entry("server.port", "0"),
+                Map.entry("app.http.base-url", stub.baseUrl()),
+                Map.entry("app.demo.enabled", "false"),
+                Map.entry("app.warmup.enabled", "false"),
+                Map.entry("app.store.enabled", "false"),
+                Map.entry("spring.datasource.url", "jdbc:h2:mem:loadtest;MODE=MySQL;DB_CLOSE_DELAY=-1"),
+                Map.entry("spring.datasource.username", "sa"),
+                Map.entry("spring.datasource.password", ""),
+                Map.entry("spring.datasource.driver-class-name", "org.h2.Driver"),
+                Map.entry("spring.datasource.hikari.minimum-idle", "2"),
+                Map.entry("spring.jpa.hibernate.ddl-auto", "create-drop"),
+                Map.entry("spring.jpa.database-platform", "org.hibernate.dialect.H2Dialect"),
+                Map.entry("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect"),
+                Map.entry("logging.level.root", "ERROR"));
+    }
+
+    private static void print(OpenLoadGenerator.Result result, LoadSettings settings, PrintStream out) {
+        double seconds = result.window().toNanos() / 1e9;
+        out.printf("%nOffered %d req/s for %.0fs: %d sent, %d dropped at the in-flight cap (%d)%n",
+                settings.rate(), seconds, result.sent(), result.dropped(), settings.maxInFlight());
+        out.printf("%-8s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "route", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        Histogram total = new Histogram(3);
+        long requests = 0;
+        long errors = 0;
+        for (OpenLoadGenerator.RouteStats route : result.routes()) {
+            row(out, route.route, route.completed.sum(), route.errors.sum(), seconds, route.latency);
+            total.add(route.latency);
+            requests += route.completed.sum();
+            errors += route.errors.sum();
+        }
+        row(out, "all", requests, errors, seconds, total);
+    }
+
+    private static void row(PrintStream out, String name, long requests, long errors, double seconds, Histogram latency) {
+        out.printf("%-8s %9d %7d %9.1f", name, requests, errors, requests / seconds);
+        for (double percentile : PERCENTILES) {
+            out.printf(" %9.2f", latency.getValueAtPercentile(percentile) / 1000.0);
+        }
+        out.printf(" %9.2f%n", latency.getMaxValue() / 1000.0);
+    }
+
+    // summary.txt plus one HdrHistogram percentile distribution (.hgrm, milliseconds) per route
+    private static void write(OpenLoadGenerator.Result result, LoadSettings settings) throws IOException {
+        Files.createDirectories(settings.reportDir());
+        try (PrintStream summary = new PrintStream(Files.newOutputStream(settings.reportDir().resolve("summary.txt")))) {
+            summary.println(settings);
+            print(result, settings, summary);
+        }
+        for (OpenLoadGenerator.RouteStats route : result.routes()) {
+            try (PrintStream distribution = new PrintStream(
+                    Files.newOutputStream(settings.reportDir().resolve(route.route + ".hgrm")))) {
+                route.latency.outputPercentileDistribution(distribution, 1000.0);
+            }
+        }
+        System.out.printf("Reports written to %s%n", settings.reportDir().toAbsolutePath());
+    }
+}
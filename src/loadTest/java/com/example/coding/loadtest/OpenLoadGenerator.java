@@ -0,0 +1,163 @@
+package com.example.coding.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+/**
+ * Open-model load: request {@code i} is due at {@code start + i / rate} and is sent then, however
+ * many earlier requests are still outstanding. Latency is measured from that due time, not from
+ * when the request actually left, so a stalled server shows up in the percentiles instead of
+ * silently lowering the offered load (coordinated omission).
+ */
+final class OpenLoadGenerator {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    /** Latencies in microseconds, plus outcome counts, for one route. */
+    static final class RouteStats {
+        final String route;
+        final Histogram latency = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+        final LongAdder completed = new LongAdder();
+        final LongAdder errors = new LongAdder();
+
+        RouteStats(String route) {
+            this.route = route;
+        }
+    }
+
+    record Result(List<RouteStats> routes, long sent, long dropped, Duration window) {}
+
+    private record Route(String name, int weight) {}
+
+    private final HttpClient client;
+    private final URI base;
+    private final LoadSettings settings;
+    private final List<Route> routes = new ArrayList<>();
+    private final int totalWeight;
+    private final String dsaBody;
+    private final String sumBody;
+    // one sequence across warm-up and measurement, so a repeated run replays the same requests
+    private final SplittableRandom random;
+
+    OpenLoadGenerator(URI base, LoadSettings settings) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        this.base = base;
+        this.settings = settings;
+        settings.mix().forEach((name, weight) -> routes.add(new Route(name, weight)));
+        this.totalWeight = routes.stream().mapToInt(Route::weight).sum();
+        this.random = new SplittableRandom(settings.seed());
+        this.dsaBody = "input=" + URLEncoder.encode(palindrome(settings.dsaInputLength(), settings.seed()),
+                StandardCharsets.UTF_8);
+        this.sumBody = new SplittableRandom(settings.seed()).ints(settings.sumInputLength(), 0, 1_000)
+                .mapToObj(Integer::toString)
+                .collect(Collectors.joining(",", "[", "]"));
+    }
+
+    /** Offers {@code rate} requests per second for {@code length}, then waits for the stragglers. */
+    Result run(Duration length) throws InterruptedException {
+        Map<String, RouteStats> stats = new LinkedHashMap<>();
+        routes.forEach(route -> stats.put(route.name(), new RouteStats(route.name())));
+        Semaphore inFlight = new Semaphore(settings.maxInFlight());
+        long interval = TimeUnit.SECONDS.toNanos(1) / settings.rate();
+        long start = System.nanoTime();
+        long end = start + length.toNanos();
+        long sent = 0;
+        long dropped = 0;
+        for (long i = 0; ; i++) {
+            long due = start + i * interval;
+            if (due >= end) {
+                break;
+            }
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            String route = pickRoute();
+            HttpRequest request = request(route);
+            if (!inFlight.tryAcquire()) {
+                dropped++;
+                continue;
+            }
+            sent++;
+            RouteStats routeStats = stats.get(route);
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - due);
+                routeStats.latency.recordValue(Math.min(micros, routeStats.latency.getHighestTrackableValue()));
+                routeStats.completed.increment();
+                if (error != null || response.statusCode() >= 400) {
+                    routeStats.errors.increment();
+                }
+                inFlight.release();
+            });
+        }
+        if (!inFlight.tryAcquire(settings.maxInFlight(), REQUEST_TIMEOUT.toSeconds() + 5, TimeUnit.SECONDS)) {
+            System.err.println("Load test: requests still outstanding after the request timeout");
+        }
+        return new Result(List.copyOf(stats.values()), sent, dropped, length);
+    }
+
+    private String pickRoute() {
+        int ticket = random.nextInt(totalWeight);
+        for (Route route : routes) {
+            ticket -= route.weight();
+            if (ticket < 0) {
+                return route.name();
+            }
+        }
+        throw new IllegalStateException("empty route mix");
+    }
+
+    private HttpRequest request(String route) {
+        return switch (route) {
+            case "episode" -> get("api/episode/" + (1 + random.nextInt(settings.episodes())));
+            case "fetch" -> get("api/fetch/" + (1 + random.nextInt(settings.episodes())));
+            case "dsa" -> post("run/dsa/Palindrome", "application/x-www-form-urlencoded", dsaBody);
+            case "sum" -> post("run/streams/sum", "application/json", sumBody);
+            default -> throw new IllegalArgumentException("Unknown route in loadtest.mix: " + route);
+        };
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(base.resolve(path)).timeout(REQUEST_TIMEOUT).GET().build();
+    }
+
+    private HttpRequest post(String path, String contentType, String body) {
+        return HttpRequest.newBuilder(base.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static String palindrome(int length, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        char[] chars = new char[length];
+        for (int left = 0, right = length - 1; left <= right; left++, right--) {
+            chars[left] = chars[right] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(chars);
+    }
+}
@@ -1,19 +1,43 @@
 package com.example.coding.DSA;
 
 import com.example.coding.design.DsaCode;
-import com.example.coding.design.SingletonLogger;
-
-import java.util.Arrays;
-import java.util.List;
+import com.example.coding.design.DsaResult;
 
 public class ArrayNonZero implements DsaCode {
 
-    SingletonLogger log= SingletonLogger.getInstance();
-
     @Override
-    public void dsaChallenge() {
+    public DsaResult dsaChallenge() {
         int[] arr = {0, 3, 0, 1, 0, 5, 0, 2,9,0,55};
+        moveZerosToEnd(arr);
+        return new DsaResult.IntArrayResult(arr);
+    }
+
+    // comma separated input, e.g. "0,3,0,1"
+    @Override
+    public DsaResult dsaChallenge(String str) {
+        String[] parts = str.split(",");
+        int[] arr = new int[parts.length];
+        for(int i=0;i<parts.length;i++) {
+            arr[i]=Integer.parseInt(parts[i].trim());
+        }
+        moveZerosToEnd(arr);
+        return new DsaResult.IntArrayResult(arr);
+    }
 
+    /**
+     * Compacts the non-zero values of {@code arr} to the front in place and returns how many there are.
+     * Arrays of {@code app.dsa.vector-threshold} elements or more take the SIMD kernel when available
+     * and the CPU compresses vector lanes natively (AVX-512).
+     */
+    public int moveZerosToEnd(int[] arr) {
+        if (VectorSupport.use(arr.length) && VectorKernels.COMPRESS_INTRINSIC) {
+            return VectorKernels.moveZerosToEnd(arr);
+        }
+        return moveZerosToEndScalar(arr);
+    }
+
+    // one element per iteration; public so benchmarks can compare it with the vector kernel
+    public int moveZerosToEndScalar(int[] arr) {
         int left =0;
         for(int right=0;right<arr.length;right++) {
             if(arr[right] !=0) {
@@ -21,16 +45,11 @@ public class ArrayNonZero implements DsaCode {
                 left++;
             }
         }
+        int nonZero=left;
         while(left<arr.length) {
             arr[left]=0;
             left++;
         }
-        List<Integer> result = Arrays.stream(arr).boxed().toList();
-        log.message(result.toString());
-
-    }
-    @Override
-    public void dsaChallenge(String str) {
-        log.message("dsaChallenge");
+        return nonZero;
     }
 }
@@ -1,37 +1,82 @@
 package com.example.coding.DSA;
 
-import com.example.coding.design.DsaCode;
-import com.example.coding.design.SingletonLogger;
+import com.example.coding.design.DsaResult;
+import com.example.coding.design.StreamingDsaCode;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
 
-public class LongSubString implements DsaCode {
+public class LongSubString implements StreamingDsaCode {
 
-    SingletonLogger log= SingletonLogger.getInstance();
+    // one ASCII table per thread: the instance is a registry singleton, and the table needs no clearing
+    private static final ThreadLocal<int[]> LAST_SEEN = ThreadLocal.withInitial(() -> new int[128]);
 
     @Override
-    public void dsaChallenge() {
-
+    public DsaResult dsaChallenge() {
+        return dsaChallenge("abcabcbb");
     }
 
     @Override
-    public void dsaChallenge(String str) {
+    public DsaResult dsaChallenge(String str) {
+        return new DsaResult.IntResult(longestUniqueLength(str, LAST_SEEN.get()));
+    }
 
+    /**
+     * Length of the longest substring without repeating characters.
+     *
+     * @param lastSeen scratch table indexed by char, holding the last index each char was seen at.
+     *                 It is never cleared: an entry only counts if it points inside the current
+     *                 input at that same char, so one table can be reused across calls without
+     *                 allocating. A char beyond its range switches the rest of the call to a
+     *                 full-width copy, which is then the only allocation.
+     */
+    public int longestUniqueLength(CharSequence str, int[] lastSeen) {
         int left=0;
         int maxLength=0;
-        Set<Character> set=new HashSet<>();
 
         for(int right=0;right<str.length();right++) {
             char c = str.charAt(right);
-
-            while(set.contains(c)) {
-                set.remove(str.charAt(left));
-                left++;
+            if(c>=lastSeen.length) {
+                lastSeen=Arrays.copyOf(lastSeen,Character.MAX_VALUE+1);
             }
-            set.add(c);
+            int seen=lastSeen[c];
+            if(seen>=left && seen<right && str.charAt(seen)==c) {
+                left=seen+1;
+            }
+            lastSeen[c]=right;
             maxLength=Math.max(maxLength,right-left+1);
         }
-        log.message(maxLength);
+        return maxLength;
+    }
+
+    /**
+     * Streaming variant over bytes: one fixed 256-entry table of absolute positions and one
+     * chunk buffer, whatever the input size.
+     */
+    @Override
+    public DsaResult dsaChallenge(ReadableByteChannel channel) throws IOException {
+        long[] lastSeen = new long[256];
+        Arrays.fill(lastSeen, -1);
+        ByteBuffer buffer = ByteBuffer.allocate(CHUNK_SIZE);
+        byte[] chunk = buffer.array();
+
+        long position = 0;
+        long left = 0;
+        int maxLength = 0;
+        while (channel.read(buffer) != -1) {
+            int length = buffer.position();
+            for (int i = 0; i < length; i++, position++) {
+                int c = chunk[i] & 0xFF;
+                if (lastSeen[c] >= left) {
+                    left = lastSeen[c] + 1;
+                }
+                lastSeen[c] = position;
+                maxLength = (int) Math.max(maxLength, position - left + 1);
+            }
+            buffer.clear();
+        }
+        return new DsaResult.IntResult(maxLength);
     }
 }
@@ -1,35 +1,141 @@
 package com.example.coding.DSA;
 
-import com.example.coding.design.DsaCode;
-import com.example.coding.design.SingletonLogger;
+import com.example.coding.design.DsaResult;
+import com.example.coding.design.StreamingDsaCode;
 
-public class Palindrome implements DsaCode {
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
-    SingletonLogger log= SingletonLogger.getInstance();
+public class Palindrome implements StreamingDsaCode {
+
+    // chars per end copied out of a String for the vector path: 2 x 8 KiB stays in L1
+    private static final int CHAR_CHUNK = 4096;
 
     @Override
-    public void dsaChallenge() {
-        log.message("dsaChallenge");
+    public DsaResult dsaChallenge() {
+        return dsaChallenge("malayalam");
     }
 
     @Override
-    public void dsaChallenge(String str) {
+    public DsaResult dsaChallenge(String str) {
+        return new DsaResult.BooleanResult(isPalindrome(str));
+    }
+
+    /**
+     * Strings of {@code app.dsa.vector-threshold} chars or more are compared a chunk at a time:
+     * both ends are copied out with {@link String#getChars} and checked with the SIMD kernel.
+     */
+    public boolean isPalindrome(CharSequence str) {
+        if (str instanceof String string && VectorSupport.use(string.length())) {
+            return isPalindromeVector(string);
+        }
+        return isPalindromeScalar(str);
+    }
+
+    // one charAt pair per iteration; public so benchmarks can compare it with the vector path
+    public boolean isPalindromeScalar(CharSequence str) {
         int left=0;
         int right = str.length()-1;
-        boolean isPalindrome=true;
 
         while(left<right) {
             if(str.charAt(left)!=str.charAt(right)) {
-                isPalindrome=false;
-                break;
+                return false;
             }
             left ++;
             right --;
         }
-        if(isPalindrome) {
-            log.message(str + " is palindrome");
-        } else {
-            log.message(str + " is not palindrome");
+        return true;
+    }
+
+    private static boolean isPalindromeVector(String str) {
+        int buffer = Math.min(CHAR_CHUNK, str.length() / 2);
+        char[] front = new char[buffer];
+        char[] back = new char[buffer];
+        int left = 0;
+        int right = str.length();
+        while (right - left > 1) {
+            int chunk = Math.min(CHAR_CHUNK, (right - left) / 2);
+            str.getChars(left, left + chunk, front, 0);
+            str.getChars(right - chunk, right, back, 0);
+            if (!VectorKernels.mirrored(front, back, chunk)) {
+                return false;
+            }
+            left += chunk;
+            right -= chunk;
+        }
+        return true;
+    }
+
+    /**
+     * A palindrome check has to compare both ends, so a seekable channel (a file) is read from
+     * the front and the back one chunk at a time. Any other channel is first spooled to a temp
+     * file, which keeps heap use at two chunk buffers regardless of input size.
+     */
+    @Override
+    public DsaResult dsaChallenge(ReadableByteChannel channel) throws IOException {
+        if (channel instanceof SeekableByteChannel seekable) {
+            return new DsaResult.BooleanResult(isPalindrome(seekable));
+        }
+        Path spool = Files.createTempFile("palindrome", ".bin");
+        try (FileChannel file = FileChannel.open(spool, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.DELETE_ON_CLOSE)) {
+            long size = 0;
+            long transferred;
+            while ((transferred = file.transferFrom(channel, size, CHUNK_SIZE)) > 0) {
+                size += transferred;
+            }
+            return new DsaResult.BooleanResult(isPalindrome(file));
+        } finally {
+            Files.deleteIfExists(spool);
+        }
+    }
+
+    public boolean isPalindrome(SeekableByteChannel channel) throws IOException {
+        ByteBuffer front = ByteBuffer.allocate(CHUNK_SIZE);
+        ByteBuffer back = ByteBuffer.allocate(CHUNK_SIZE);
+        long left = 0;
+        long right = channel.size();
+
+        while (right - left > 1) {
+            int chunk = (int) Math.min(CHUNK_SIZE, (right - left) / 2);
+            readFully(channel, front, left, chunk);
+            readFully(channel, back, right - chunk, chunk);
+            if (!mirrored(front.array(), back.array(), chunk)) {
+                return false;
+            }
+            left += chunk;
+            right -= chunk;
+        }
+        return true;
+    }
+
+    // front[i] must equal back[length - 1 - i] for every i
+    static boolean mirrored(byte[] front, byte[] back, int length) {
+        if (VectorSupport.use(length)) {
+            return VectorKernels.mirrored(front, back, length);
+        }
+        for (int i = 0, j = length - 1; i < length; i++, j--) {
+            if (front[i] != back[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void readFully(SeekableByteChannel channel, ByteBuffer buffer, long position, int length)
+            throws IOException {
+        buffer.clear().limit(length);
+        channel.position(position);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException("Unexpected end of input at " + (position + buffer.position()));
+            }
         }
     }
 }
@@ -0,0 +1,112 @@
+package com.example.coding.DSA;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * SIMD versions of the ArrayNonZero and Palindrome inner loops on {@code jdk.incubator.vector},
+ * one full vector per iteration at the platform's preferred width. This class links against the
+ * incubator module, so it is only called after {@link VectorSupport#use} said yes.
+ */
+final class VectorKernels {
+
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Byte> BYTES = ByteVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Short> SHORTS = ShortVector.SPECIES_PREFERRED;
+    private static final VectorShuffle<Byte> REVERSE_BYTES =
+            VectorShuffle.fromOp(BYTES, lane -> BYTES.length() - 1 - lane);
+    private static final VectorShuffle<Short> REVERSE_SHORTS =
+            VectorShuffle.fromOp(SHORTS, lane -> SHORTS.length() - 1 - lane);
+
+    /**
+     * Whether {@link #moveZerosToEnd} pays off here. {@code IntVector.compress} is only
+     * intrinsified on AVX-512 (vpcompressd); on narrower x86 or other hardware it falls back to a
+     * lane-by-lane loop several times slower than the scalar compaction it would replace.
+     */
+    static final boolean COMPRESS_INTRINSIC = INTS.vectorBitSize() >= 512
+            && Set.of("amd64", "x86_64").contains(System.getProperty("os.arch"));
+
+    private VectorKernels() {
+    }
+
+    /**
+     * {@link ArrayNonZero#moveZerosToEnd}, only worth calling when {@link #COMPRESS_INTRINSIC}:
+     * each vector's non-zero lanes are compressed to the front and stored at the write cursor. The store covers a whole vector, but the cursor never
+     * passes the read position, so it only overwrites lanes that were already loaded.
+     */
+    static int moveZerosToEnd(int[] arr) {
+        int lanes = INTS.length();
+        int upper = INTS.loopBound(arr.length);
+        int left = 0;
+        int right = 0;
+        for (; right < upper; right += lanes) {
+            IntVector values = IntVector.fromArray(INTS, arr, right);
+            VectorMask<Integer> nonZero = values.compare(VectorOperators.NE, 0);
+            int count = nonZero.trueCount();
+            if (count == lanes) {
+                if (left != right) {
+                    values.intoArray(arr, left);
+                }
+            } else if (count > 0) {
+                values.compress(nonZero).intoArray(arr, left);
+            }
+            left += count;
+        }
+        for (; right < arr.length; right++) {
+            if (arr[right] != 0) {
+                arr[left++] = arr[right];
+            }
+        }
+        Arrays.fill(arr, left, arr.length, 0);
+        return left;
+    }
+
+    /** {@link Palindrome#mirrored}: front against back, one lane-reversed vector at a time. */
+    static boolean mirrored(byte[] front, byte[] back, int length) {
+        int lanes = BYTES.length();
+        int upper = BYTES.loopBound(length);
+        int i = 0;
+        for (; i < upper; i += lanes) {
+            ByteVector head = ByteVector.fromArray(BYTES, front, i);
+            ByteVector tail = ByteVector.fromArray(BYTES, back, length - i - lanes).rearrange(REVERSE_BYTES);
+            if (!head.eq(tail).allTrue()) {
+                return false;
+            }
+        }
+        for (int j = length - 1 - i; i < length; i++, j--) {
+            if (front[i] != back[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** The UTF-16 counterpart of {@link #mirrored(byte[], byte[], int)}, for chunks of a String. */
+    static boolean mirrored(char[] front, char[] back, int length) {
+        int lanes = SHORTS.length();
+        int upper = SHORTS.loopBound(length);
+        int i = 0;
+        for (; i < upper; i += lanes) {
+            ShortVector head = ShortVector.fromCharArray(SHORTS, front, i);
+            ShortVector tail = ShortVector.fromCharArray(SHORTS, back, length - i - lanes)
+                    .rearrange(REVERSE_SHORTS);
+            if (!head.eq(tail).allTrue()) {
+                return false;
+            }
+        }
+        for (int j = length - 1 - i; i < length; i++, j--) {
+            if (front[i] != back[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.coding.DSA;
+
+/**
+ * Whether the {@link VectorKernels} can run. They need {@code jdk.incubator.vector} in the boot
+ * layer, i.e. a JVM started with {@code --add-modules jdk.incubator.vector} (build.gradle and the
+ * Dockerfile pass it); without it every caller stays on its scalar loop. This class has no
+ * incubator types of its own, so checking never loads them.
+ *
+ * <p>{@code app.dsa.vector=false} turns the kernels off, {@code app.dsa.vector-threshold} (default
+ * 256 elements) sets the input size they start at. Both are system properties, read once.
+ */
+final class VectorSupport {
+
+    static final boolean AVAILABLE = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+            && Boolean.parseBoolean(System.getProperty("app.dsa.vector", "true"));
+
+    static final int THRESHOLD = Integer.getInteger("app.dsa.vector-threshold", 256);
+
+    private VectorSupport() {
+    }
+
+    /** True when an input of {@code length} elements should take a vector kernel. */
+    static boolean use(int length) {
+        return length >= THRESHOLD && AVAILABLE;
+    }
+}
@@ -1,5 +1,11 @@
 package com.example.coding.config;
 
+import com.example.coding.design.StreamingNotSupportedException;
+import com.example.coding.design.UnknownDsaException;
+import com.example.coding.service.UnknownJobException;
+import com.example.coding.service.UpstreamNotFoundException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
@@ -8,6 +14,9 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.io.IOException;
 import java.rmi.server.ExportException;
+import java.util.NoSuchElementException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
 
 @RestControllerAdvice
 public class ExceptionHandlerConfig {
@@ -17,6 +26,47 @@ public class ExceptionHandlerConfig {
         return new ResponseEntity<>("I/O Error: "+ex.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    // only the dedicated lookups: a stray Optional.get() or Iterator.next() is a bug, not a 404
+    @ExceptionHandler({UnknownDsaException.class, UnknownJobException.class, UpstreamNotFoundException.class})
+    public ProblemDetail handleNotFound(NoSuchElementException ex) {
+        ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.NOT_FOUND);
+        problemDetail.setTitle("Not Found");
+        problemDetail.setDetail(ex.getMessage());
+        return problemDetail;
+    }
+
+    @ExceptionHandler(StreamingNotSupportedException.class)
+    public ProblemDetail handleStreamingNotSupported(StreamingNotSupportedException ex) {
+        ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.BAD_REQUEST);
+        problemDetail.setTitle("Streaming Not Supported");
+        problemDetail.setDetail(ex.getMessage());
+        return problemDetail;
+    }
+
+    @ExceptionHandler(TimeoutException.class)
+    public ProblemDetail handleTimeoutException(TimeoutException ex) {
+        ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.GATEWAY_TIMEOUT);
+        problemDetail.setTitle("Upstream Timeout");
+        problemDetail.setDetail(ex.getMessage());
+        return problemDetail;
+    }
+
+    @ExceptionHandler({CallNotPermittedException.class, BulkheadFullException.class})
+    public ProblemDetail handleUpstreamUnavailable(RuntimeException ex) {
+        ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.SERVICE_UNAVAILABLE);
+        problemDetail.setTitle("Upstream Unavailable");
+        problemDetail.setDetail(ex.getMessage());
+        return problemDetail;
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ProblemDetail handleRejectedExecutionException(RejectedExecutionException ex) {
+        ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.TOO_MANY_REQUESTS);
+        problemDetail.setTitle("Too Many Jobs");
+        problemDetail.setDetail(ex.getMessage());
+        return problemDetail;
+    }
+
    /* @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleGlobalException(Exception ex) {
         return new ResponseEntity<>("Error caught "+ex.getMessage(),HttpStatus.BAD_REQUEST);
@@ -27,7 +77,9 @@ public class ExceptionHandlerConfig {
         ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.BAD_REQUEST);
         problemDetail.setTitle("Unexpected Error");
         problemDetail.setDetail(ex.getMessage());
-        problemDetail.setProperty("errorCode",ex.getCause());
+        // the cause as text: serializing the Throwable itself fails for causes Jackson cannot
+        // introspect, e.g. the Netty DNS errors behind a WebClient request failure
+        problemDetail.setProperty("errorCode",ex.getCause() == null ? null : ex.getCause().toString());
         return problemDetail;
     }
 }
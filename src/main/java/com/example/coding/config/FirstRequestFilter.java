@@ -0,0 +1,61 @@
+package com.example.coding.config;
+
+import com.example.coding.design.SingletonLogger;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records time-to-first-request: JVM uptime when the first non-actuator request has been served,
+ * published as the {@code application.first.request.time} gauge next to Boot's own
+ * {@code application.started.time} and {@code application.ready.time}, and logged once.
+ */
+@Component
+public class FirstRequestFilter extends OncePerRequestFilter {
+
+    private final SingletonLogger logger;
+    private final AtomicLong firstRequestMillis = new AtomicLong(-1);
+
+    public FirstRequestFilter(SingletonLogger logger, MeterRegistry registry) {
+        this.logger = logger;
+        Gauge.builder("application.first.request.time", this, FirstRequestFilter::firstRequestSeconds)
+                .description("Time from JVM start until the first request was served")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (firstRequestMillis.get() < 0) {
+                long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+                if (firstRequestMillis.compareAndSet(-1, uptime)) {
+                    logger.message("Time to first request====> " + uptime + " ms (" + request.getRequestURI() + ")");
+                }
+            }
+        }
+    }
+
+    // load balancer and readiness probes are not traffic
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    private double firstRequestSeconds() {
+        long millis = firstRequestMillis.get();
+        return millis < 0 ? Double.NaN : millis / 1000.0;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.coding.config;
+
+import com.example.coding.design.SingletonLogger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class LoggerConfig {
+
+    // capacity is fixed when the ring buffer is created, so only the overflow policy is live-configurable
+    @Bean
+    public SingletonLogger singletonLogger(@Value("${app.logger.overflow:DROP}") SingletonLogger.OverflowPolicy overflowPolicy) {
+        SingletonLogger logger = SingletonLogger.getInstance();
+        logger.setOverflowPolicy(overflowPolicy);
+        return logger;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.coding.config;
+
+import com.example.coding.design.SingletonLogger;
+import com.example.coding.service.JobService;
+import com.example.coding.service.RepresentationCache;
+import com.example.coding.service.UpstreamCache;
+import com.example.coding.service.UpstreamStore;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Application meters on top of what actuator already binds (http.server.requests per route,
+ * http.client.requests per upstream URI template, JVM memory/GC/threads, Tomcat threads).
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder upstreamCacheMetrics(UpstreamCache upstreamCache) {
+        return registry -> {
+            FunctionCounter.builder("upstream.cache.hits", upstreamCache, cache -> cache.stats().hits())
+                    .register(registry);
+            FunctionCounter.builder("upstream.cache.misses", upstreamCache, cache -> cache.stats().misses())
+                    .register(registry);
+            FunctionCounter.builder("upstream.cache.coalesced", upstreamCache, cache -> cache.stats().coalesced())
+                    .description("misses that joined a load already in flight")
+                    .register(registry);
+            FunctionCounter.builder("upstream.cache.evictions", upstreamCache, cache -> cache.stats().evictions())
+                    .register(registry);
+            Gauge.builder("upstream.cache.size", upstreamCache, cache -> cache.stats().size())
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder upstreamStoreMetrics(UpstreamStore upstreamStore) {
+        return registry -> {
+            FunctionCounter.builder("upstream.store.hits", upstreamStore, store -> store.stats().hits())
+                    .register(registry);
+            FunctionCounter.builder("upstream.store.misses", upstreamStore, store -> store.stats().misses())
+                    .register(registry);
+            FunctionCounter.builder("upstream.store.written", upstreamStore, store -> store.stats().written())
+                    .register(registry);
+            FunctionCounter.builder("upstream.store.dropped", upstreamStore, store -> store.stats().dropped())
+                    .description("fetched rows that were never written (queue full or write failed)")
+                    .register(registry);
+            Gauge.builder("upstream.store.pending", upstreamStore, store -> store.stats().pending())
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder representationCacheMetrics(RepresentationCache representationCache) {
+        return registry -> {
+            FunctionCounter.builder("api.representation.hits", representationCache, cache -> cache.stats().hits())
+                    .description("/api GETs answered from a cached body and ETag, without the service layer")
+                    .register(registry);
+            FunctionCounter.builder("api.representation.misses", representationCache, cache -> cache.stats().misses())
+                    .register(registry);
+            Gauge.builder("api.representation.size", representationCache, cache -> cache.stats().size())
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.http.client", havingValue = "apache", matchIfMissing = true)
+    public MeterBinder upstreamConnectionPoolMetrics(PoolingHttpClientConnectionManager upstreamConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(upstreamConnectionManager, "upstream");
+    }
+
+    @Bean
+    public MeterBinder jobMetrics(JobService jobService) {
+        return registry -> {
+            Gauge.builder("jobs.queued", jobService, jobs -> jobs.stats().queued())
+                    .register(registry);
+            Gauge.builder("jobs.running", jobService, jobs -> jobs.stats().running())
+                    .register(registry);
+            FunctionCounter.builder("jobs.rejected", jobService, jobs -> jobs.stats().rejected())
+                    .description("submissions refused because the job queue was full")
+                    .register(registry);
+            FunctionCounter.builder("jobs.finished", jobService, jobs -> jobs.stats().finished())
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder singletonLoggerMetrics(SingletonLogger singletonLogger) {
+        return registry -> {
+            Gauge.builder("logger.queue.depth", singletonLogger, SingletonLogger::queueDepth)
+                    .register(registry);
+            Gauge.builder("logger.queue.capacity", singletonLogger, SingletonLogger::capacity)
+                    .register(registry);
+            FunctionCounter.builder("logger.dropped", singletonLogger, SingletonLogger::droppedCount)
+                    .register(registry);
+            FunctionCounter.builder("logger.written", singletonLogger, SingletonLogger::writtenCount)
+                    .register(registry);
+        };
+    }
+}
@@ -1,14 +1,91 @@
 package com.example.coding.config;
 
+import com.example.coding.profiling.UpstreamCallRecorder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
 
+import java.net.http.HttpClient;
+import java.util.Locale;
+
 @Configuration
+@EnableConfigurationProperties(UpstreamHttpProperties.class)
 public class RestClientConfig {
 
+    // built from Boot's RestClient.Builder so every call is observed as http.client.requests;
+    // the recorder adds a JFR event per call while a flight recording is running
     @Bean
-    public RestClient restclient(){
-        return RestClient.builder().baseUrl("https://rickandmortyapi.com/").build();
+    public RestClient restclient(RestClient.Builder builder, ClientHttpRequestFactory upstreamRequestFactory,
+                                 UpstreamHttpProperties properties){
+        return builder
+                .baseUrl(properties.baseUrl())
+                .requestFactory(upstreamRequestFactory)
+                .requestInterceptor(new UpstreamCallRecorder())
+                .build();
+    }
+
+    @Bean
+    public ClientHttpRequestFactory upstreamRequestFactory(UpstreamHttpProperties properties,
+                                                           ObjectProvider<PoolingHttpClientConnectionManager> upstreamConnectionManager) {
+        return switch (properties.client().toLowerCase(Locale.ROOT)) {
+            case "jdk" -> jdkRequestFactory(properties);
+            case "apache" -> apacheRequestFactory(properties, upstreamConnectionManager.getObject());
+            default -> throw new IllegalStateException("app.http.client must be apache or jdk, not " + properties.client());
+        };
+    }
+
+    // a bean of its own so the pool can be bound to metrics; only the apache client has one
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "app.http.client", havingValue = "apache", matchIfMissing = true)
+    public PoolingHttpClientConnectionManager upstreamConnectionManager(UpstreamHttpProperties properties) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.maxTotal())
+                .setMaxConnPerRoute(properties.maxPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(properties.connectTimeout()))
+                        .setSocketTimeout(Timeout.of(properties.readTimeout()))
+                        .setTimeToLive(TimeValue.of(properties.keepAlive()))
+                        .build())
+                .build();
+    }
+
+    // pooled HTTP/1.1 keep-alive connections; the classic client decompresses gzip/deflate on its own
+    private ClientHttpRequestFactory apacheRequestFactory(UpstreamHttpProperties properties,
+                                                          PoolingHttpClientConnectionManager connectionManager) {
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(properties.poolTimeout()))
+                        .setResponseTimeout(Timeout.of(properties.readTimeout()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(properties.keepAlive()))
+                .build();
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
+    // HTTP/2 with a fallback to HTTP/1.1 when the upstream does not offer it
+    private ClientHttpRequestFactory jdkRequestFactory(UpstreamHttpProperties properties) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(properties.connectTimeout())
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(properties.readTimeout());
+        return requestFactory;
     }
 }
@@ -0,0 +1,30 @@
+package com.example.coding.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Transport settings for the upstream RestClient, bound from {@code app.http.*}.
+ *
+ * @param client        {@code apache} for a pooled HTTP/1.1 client with per-route limits and gzip,
+ *                      {@code jdk} for the JDK client, which negotiates HTTP/2 with the upstream
+ * @param maxTotal      pooled connections across all routes (apache only)
+ * @param maxPerRoute   pooled connections per host (apache only)
+ * @param connectTimeout TCP/TLS connect timeout
+ * @param readTimeout   time to wait for the response (socket timeout on apache, request timeout on jdk)
+ * @param poolTimeout   time to wait for a free pooled connection before failing (apache only)
+ * @param keepAlive     how long an idle pooled connection is kept for reuse (apache only)
+ */
+@ConfigurationProperties("app.http")
+public record UpstreamHttpProperties(
+        @DefaultValue("https://rickandmortyapi.com/") String baseUrl,
+        @DefaultValue("apache") String client,
+        @DefaultValue("200") int maxTotal,
+        @DefaultValue("50") int maxPerRoute,
+        @DefaultValue("2s") Duration connectTimeout,
+        @DefaultValue("5s") Duration readTimeout,
+        @DefaultValue("1s") Duration poolTimeout,
+        @DefaultValue("30s") Duration keepAlive) {
+}
@@ -0,0 +1,22 @@
+package com.example.coding.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Per-endpoint hedging, bound from {@code app.upstream.*}. Bulkhead and circuit breaker
+ * settings live under the usual {@code resilience4j.bulkhead.instances.<endpoint>} and
+ * {@code resilience4j.circuitbreaker.instances.<endpoint>} keys.
+ *
+ * @param hedgeDelay per endpoint, how long a GET may run before a second identical request is
+ *                   raced against it; endpoints without an entry are never hedged
+ */
+@ConfigurationProperties("app.upstream")
+public record UpstreamResilienceProperties(Map<String, Duration> hedgeDelay) {
+
+    public UpstreamResilienceProperties {
+        hedgeDelay = hedgeDelay == null ? Map.of() : Map.copyOf(hedgeDelay);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.coding.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Startup catalog warm-up and its incremental refresh, bound from {@code app.warmup.*}.
+ *
+ * @param enabled         page through the episode and character catalogs at startup, and
+ *                        refresh them on a schedule afterwards
+ * @param parallelism     catalog pages fetched at the same time
+ * @param budget          how long startup may wait for the warm-up before accepting traffic anyway;
+ *                        also bounds each refresh
+ * @param refreshInterval delay between refreshes, each a conditional GET per known page
+ */
+@ConfigurationProperties("app.warmup")
+public record WarmupProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("4") int parallelism,
+        @DefaultValue("30s") Duration budget,
+        @DefaultValue("10m") Duration refreshInterval) {
+}
@@ -0,0 +1,36 @@
+package com.example.coding.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Non-blocking upstream client for the reactive /rx/api routes. It reuses the app.http.*
+ * transport settings of the blocking client, on Reactor Netty's event loops instead of a
+ * thread per in-flight request.
+ */
+@Configuration
+public class WebClientConfig {
+
+    // built from Boot's WebClient.Builder so every call is observed as http.client.requests
+    @Bean
+    public WebClient webClient(WebClient.Builder builder, UpstreamHttpProperties properties) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("upstream")
+                .maxConnections(properties.maxPerRoute())
+                .pendingAcquireTimeout(properties.poolTimeout())
+                .maxIdleTime(properties.keepAlive())
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.connectTimeout().toMillis())
+                .responseTimeout(properties.readTimeout())
+                .compress(true);
+        return builder
+                .baseUrl(properties.baseUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
@@ -2,15 +2,24 @@ package com.example.coding.controller;
 
 import com.example.coding.model.DemoEpisode;
 import com.example.coding.model.DemoModel;
+import com.example.coding.service.CharacterResolverService;
 import com.example.coding.service.DemoServiceImpl;
+import com.example.coding.service.RepresentationCache;
+import com.example.coding.service.UpstreamCache;
+import com.example.coding.service.UpstreamStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.client.RestClient;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.ArrayList;
+import java.time.Duration;
 import java.util.Collections;
-import java.util.List;
+import java.util.concurrent.TimeoutException;
 
 @RestController
 @RequestMapping("/api")
@@ -18,9 +27,26 @@ public class DemoController {
 
     private DemoServiceImpl demoService;
 
+    private CharacterResolverService characterResolver;
 
-    public DemoController(DemoServiceImpl demoService) {
+    private UpstreamCache upstreamCache;
+
+    private UpstreamStore upstreamStore;
+
+    private RepresentationCache representations;
+
+    private CacheControl cacheControl;
+
+    public DemoController(DemoServiceImpl demoService, CharacterResolverService characterResolver,
+                          UpstreamCache upstreamCache, UpstreamStore upstreamStore,
+                          RepresentationCache representations,
+                          @Value("${app.http-cache.max-age:60s}") Duration maxAge) {
         this.demoService=demoService;
+        this.characterResolver=characterResolver;
+        this.upstreamCache=upstreamCache;
+        this.upstreamStore=upstreamStore;
+        this.representations=representations;
+        this.cacheControl=CacheControl.maxAge(maxAge).cachePublic();
     }
 
     @PostMapping("/create")
@@ -29,28 +55,62 @@ public class DemoController {
     }
 
     @GetMapping("/fetch/{id}")
-    public DemoModel fetchDemo(@PathVariable Integer id){
-        return demoService.fetchDemo(id);
+    public ResponseEntity<byte[]> fetchDemo(@PathVariable Integer id, WebRequest request){
+        return conditional("fetch", id, request, sources -> demoService.fetchDemo(id));
     }
 
     @GetMapping("/episode/{id}")
-    public DemoModel episode(@PathVariable Integer id){
+    public ResponseEntity<byte[]> episode(@PathVariable Integer id, WebRequest request) throws TimeoutException {
+        return conditional("episode", id, request, sources -> {
+            sources.add(UpstreamCache.Resource.EPISODE, id);
+            DemoModel episodeInfo = demoService.fetchDemoEpisode(id);
+            sources.add(UpstreamCache.Resource.CHARACTER, episodeInfo.getCharacterIds());
+
+            // episodeInfo is shared through the upstream cache, so answer with a copy
+            DemoModel response = new DemoModel();
+            response.setName(episodeInfo.getName());
+            response.setCharacters(characterResolver.resolveNames(episodeInfo.getCharacterIds()));
+            return response;
+        });
+    }
 
-        DemoModel episodeInfo = demoService.fetchDemoEpisode(id);
-        List<String> result=new ArrayList<>();
+    @GetMapping("/cache/stats")
+    public UpstreamCache.Stats cacheStats() {
+        return upstreamCache.stats();
+    }
 
-        List<String> epdisodeCharacterURL = episodeInfo.getCharacters();
-       // System.out.println("URL===>"+epdisodeCharacterURL.toString());
+    @GetMapping("/store/stats")
+    public UpstreamStore.Stats storeStats() {
+        return upstreamStore.stats();
+    }
 
-        for (String episodeURL : epdisodeCharacterURL) {
-            String[] parts = episodeURL.split("/");
-            String idChar = parts[parts.length - 1];
-            DemoEpisode demoEpisode = demoService.fetchDemoEpisodeName(Integer.valueOf(idChar));
-            result.add(demoEpisode.getName());
-            episodeInfo.setCharacters(result);
+    @GetMapping("/representation/stats")
+    public RepresentationCache.Stats representationStats() {
+        return representations.stats();
+    }
 
+    // the body and ETag come from RepresentationCache, so the service is only called on a miss,
+    // and a matching If-None-Match is answered with 304 and no body
+    private <E extends Exception> ResponseEntity<byte[]> conditional(String route, Integer id, WebRequest request,
+                                                                     RepresentationCache.Loader<E> loader) throws E {
+        RepresentationCache.Variants variants = representations.get(route, id, loader);
+        RepresentationCache.Representation representation =
+                variants.select(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        // checkNotModified already sets the ETag on a 304
+        boolean notModified = request.checkNotModified(representation.etag());
+        ResponseEntity.BodyBuilder response = notModified
+                ? ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                : ResponseEntity.ok().eTag(representation.etag()).contentType(MediaType.APPLICATION_JSON);
+        response.cacheControl(cacheControl);
+        if (variants.gzip() != null) {
+            response.varyBy(HttpHeaders.ACCEPT_ENCODING);
         }
-        return episodeInfo;
+        if (notModified) {
+            return response.build();
+        }
+        if (representation.contentEncoding() != null) {
+            response.header(HttpHeaders.CONTENT_ENCODING, representation.contentEncoding());
+        }
+        return response.body(representation.body());
     }
-
 }
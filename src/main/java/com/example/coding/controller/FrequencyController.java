@@ -0,0 +1,30 @@
+package com.example.coding.controller;
+
+import com.example.coding.model.FrequencyEntry;
+import com.example.coding.service.FrequencyService;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/run/frequency")
+public class FrequencyController {
+
+    private final FrequencyService frequencyService;
+
+    public FrequencyController(FrequencyService frequencyService) {
+        this.frequencyService = frequencyService;
+    }
+
+    // top-K most frequent characters of the request body
+    @PostMapping(value = "/chars", consumes = "text/plain")
+    public List<FrequencyEntry> chars(@RequestBody String text, @RequestParam(defaultValue = "10") int top) {
+        return frequencyService.countChars(text).top(top);
+    }
+
+    // top-K most frequent tokens (runs of letters/digits) of the request body
+    @PostMapping(value = "/words", consumes = "text/plain")
+    public List<FrequencyEntry> words(@RequestBody String text, @RequestParam(defaultValue = "10") int top) {
+        return frequencyService.countTokens(text).top(top);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.coding.controller;
+
+import com.example.coding.design.DsaCode;
+import com.example.coding.design.DsaRegistry;
+import com.example.coding.design.StreamingDsaCode;
+import com.example.coding.design.StreamingNotSupportedException;
+import com.example.coding.model.JobStatus;
+import com.example.coding.service.JobService;
+import com.example.coding.service.NumericAnalyticsService;
+import com.example.coding.service.TemplateRunnerService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+
+// the /run/... computations as background jobs: submit answers 202 with the job's URL,
+// which can then be polled, cancelled (DELETE) or followed as server-sent events
+@RestController
+@RequestMapping("/jobs")
+public class JobController {
+
+    private final JobService jobs;
+    private final TemplateRunnerService runner;
+    private final NumericAnalyticsService analytics;
+
+    public JobController(JobService jobs, TemplateRunnerService runner, NumericAnalyticsService analytics) {
+        this.jobs = jobs;
+        this.runner = runner;
+        this.analytics = analytics;
+    }
+
+    @PostMapping("/dsa/{name}")
+    public ResponseEntity<JobStatus> runDsa(@PathVariable String name, @RequestParam(required = false) String input,
+                                            @RequestParam(defaultValue = "NORMAL") JobStatus.Priority priority) {
+        DsaRegistry.getInstance().lookup(name);
+        return accepted(jobs.submit("dsa/" + name, priority, progress -> runner.runDsa(name, input)));
+    }
+
+    // the body is spooled before the job is queued, so the upload does not hold a worker
+    @PostMapping(value = "/dsa/{name}/stream", consumes = {"application/octet-stream", "text/plain"})
+    public ResponseEntity<JobStatus> runDsaStream(@PathVariable String name,
+                                                  @RequestParam(defaultValue = "NORMAL") JobStatus.Priority priority,
+                                                  InputStream body) throws IOException {
+        DsaCode code = DsaRegistry.getInstance().lookup(name);
+        if (!(code instanceof StreamingDsaCode)) {
+            throw new StreamingNotSupportedException(code.name());
+        }
+        return accepted(jobs.submit("dsa/" + name + "/stream", priority, body,
+                input -> runner.runDsaStream(name, input)));
+    }
+
+    @PostMapping(value = "/streams/sum",
+            consumes = {NumericAnalyticsService.INT32_LE_VALUE, NumericAnalyticsService.INT64_LE_VALUE, "text/plain"})
+    public ResponseEntity<JobStatus> runStreamsSum(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                   @RequestParam(defaultValue = "NORMAL") JobStatus.Priority priority,
+                                                   InputStream body) throws IOException {
+        NumericAnalyticsService.Encoding encoding = NumericAnalyticsService.Encoding.forContentType(contentType);
+        return accepted(jobs.submit("streams/sum", priority, body, input -> analytics.summarize(input, encoding)));
+    }
+
+    @PostMapping("/streams/stats")
+    public ResponseEntity<JobStatus> runStreamsStats(@RequestBody int[] numbers,
+                                                     @RequestParam(defaultValue = "NORMAL") JobStatus.Priority priority) {
+        return accepted(jobs.submit("streams/stats", priority, progress -> analytics.summarize(numbers)));
+    }
+
+    @GetMapping("/{id}")
+    public JobStatus status(@PathVariable String id) {
+        return jobs.status(id);
+    }
+
+    @DeleteMapping("/{id}")
+    public JobStatus cancel(@PathVariable String id) {
+        return jobs.cancel(id);
+    }
+
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@PathVariable String id) {
+        return jobs.subscribe(id);
+    }
+
+    @GetMapping("/stats")
+    public JobService.Stats stats() {
+        return jobs.stats();
+    }
+
+    private static ResponseEntity<JobStatus> accepted(JobStatus status) {
+        return ResponseEntity.accepted().location(URI.create("/jobs/" + status.id())).body(status);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.coding.controller;
+
+import com.example.coding.model.DemoModel;
+import com.example.coding.service.ReactiveDemoService;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+// same contract as DemoController; the request thread is released while upstream calls are in flight
+@RestController
+@RequestMapping("/rx/api")
+public class ReactiveDemoController {
+
+    private ReactiveDemoService demoService;
+
+    public ReactiveDemoController(ReactiveDemoService demoService) {
+        this.demoService=demoService;
+    }
+
+    @PostMapping("/create")
+    public Mono<DemoModel> createDemo(@RequestBody DemoModel model){
+        return demoService.createDemo(model);
+    }
+
+    @GetMapping("/fetch/{id}")
+    public Mono<DemoModel> fetchDemo(@PathVariable Integer id){
+        return demoService.fetchDemo(id);
+    }
+
+    @GetMapping("/episode/{id}")
+    public Mono<DemoModel> episode(@PathVariable Integer id) {
+        return demoService.episode(id);
+    }
+
+}
@@ -1,20 +1,29 @@
 package com.example.coding.controller;
 
+import com.example.coding.model.NumericSummary;
+import com.example.coding.service.NumericAnalyticsService;
 import com.example.coding.service.TemplateRunnerService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
 import java.util.List;
+import java.util.Set;
 
 @Controller
 @RequestMapping("/")
 public class TemplateController {
 
     private final TemplateRunnerService runner;
+    private final NumericAnalyticsService analytics;
 
-    public TemplateController(TemplateRunnerService runner) {
+    public TemplateController(TemplateRunnerService runner, NumericAnalyticsService analytics) {
         this.runner = runner;
+        this.analytics = analytics;
     }
 
     @GetMapping
@@ -24,22 +33,30 @@ public class TemplateController {
     }
 
     // endpoints for AJAX calls
-    @PostMapping("/run/dsa/palindrome")
+    @GetMapping("/run/dsa")
     @ResponseBody
-    public String runPalindrome(@RequestParam(defaultValue = "malayalam") String input) {
-        return runner.runPalindrome(input);
+    public Set<String> dsaNames() {
+        return runner.dsaNames();
     }
 
-    @PostMapping("/run/dsa/arrayNonZero")
+    // any registered DsaCode; without input it runs on the algorithm's built-in sample
+    @PostMapping("/run/dsa/{name}")
     @ResponseBody
-    public String runArrayNonZero() {
-        return runner.runArrayNonZero();
+    public String runDsa(@PathVariable String name, @RequestParam(required = false) String input) {
+        return runner.runDsa(name, input);
     }
 
-    @PostMapping("/run/dsa/longSubString")
+    // large inputs: the request body is consumed incrementally, never buffered whole
+    @PostMapping(value = "/run/dsa/{name}/stream", consumes = {"application/octet-stream", "text/plain"})
     @ResponseBody
-    public String runLongSubString(@RequestParam(defaultValue = "abcabcbb") String input) {
-        return runner.runLongSubString(input);
+    public String runDsaStream(@PathVariable String name, InputStream body) throws IOException {
+        return runner.runDsaStream(name, Channels.newChannel(body));
+    }
+
+    @PostMapping("/run/dsa/{name}/file")
+    @ResponseBody
+    public String runDsaFile(@PathVariable String name, @RequestParam String path) throws IOException {
+        return runner.runDsaFile(name, path);
     }
 
     // Streams
@@ -67,4 +84,27 @@ public class TemplateController {
     public String runStreamsSum(@RequestBody List<Integer> numbers) {
         return runner.runStreamsSum(numbers);
     }
+
+    // same route for packed little-endian int32/int64 or newline-delimited text bodies,
+    // folded into the summary straight off the socket instead of building a List<Integer>
+    @PostMapping(value = "/run/streams/sum",
+            consumes = {NumericAnalyticsService.INT32_LE_VALUE, NumericAnalyticsService.INT64_LE_VALUE, "text/plain"})
+    @ResponseBody
+    public NumericSummary runStreamsSumStreamed(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                InputStream body) throws IOException {
+        return analytics.summarize(Channels.newChannel(body), NumericAnalyticsService.Encoding.forContentType(contentType));
+    }
+
+    // large numeric inputs: Jackson reads straight into a primitive array, no Integer boxing
+    @PostMapping("/run/streams/stats")
+    @ResponseBody
+    public NumericSummary runStreamsStats(@RequestBody int[] numbers) {
+        return analytics.summarize(numbers);
+    }
+
+    @PostMapping("/run/streams/stats64")
+    @ResponseBody
+    public NumericSummary runStreamsStats64(@RequestBody long[] numbers) {
+        return analytics.summarize(numbers);
+    }
 }
@@ -1,6 +1,17 @@
 package com.example.coding.design;
 
+/**
+ * A pluggable algorithm. Implementations must be stateless with a public no-arg constructor;
+ * they are discovered through {@code META-INF/services/com.example.coding.design.DsaCode} and
+ * shared as singletons by {@link DsaRegistry}.
+ */
 public interface DsaCode {
-    void dsaChallenge();
-    void dsaChallenge(String str);
+    // runs on the implementation's built-in sample input
+    DsaResult dsaChallenge();
+    DsaResult dsaChallenge(String str);
+
+    // registry key, matched case-insensitively
+    default String name() {
+        return getClass().getSimpleName();
+    }
 }
@@ -0,0 +1,64 @@
+package com.example.coding.design;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Singleton instances of every {@link DsaCode} on the classpath, looked up by name.
+ * Adding an algorithm means adding the class and one line to its ServiceLoader file.
+ */
+public class DsaRegistry {
+
+    private static volatile DsaRegistry instance =null;
+
+    private final Map<String, DsaCode> algorithms;
+
+    private DsaRegistry() {
+        Map<String, DsaCode> loaded = new HashMap<>();
+        for (DsaCode code : ServiceLoader.load(DsaCode.class, DsaCode.class.getClassLoader())) {
+            DsaCode previous = loaded.putIfAbsent(key(code.name()), code);
+            if (previous != null) {
+                throw new IllegalStateException("Duplicate DsaCode name " + code.name() + ": "
+                        + previous.getClass().getName() + " and " + code.getClass().getName());
+            }
+        }
+        this.algorithms = Map.copyOf(loaded);
+    }
+
+    public static DsaRegistry getInstance() {
+        if(instance==null) {
+            synchronized (DsaRegistry.class) {
+                if(instance==null) {
+                    instance=new DsaRegistry();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * @throws UnknownDsaException if no algorithm is registered under {@code name}
+     */
+    public DsaCode lookup(String name) {
+        DsaCode code = algorithms.get(key(name));
+        if (code == null) {
+            throw new UnknownDsaException(name);
+        }
+        return code;
+    }
+
+    public Set<String> names() {
+        Set<String> names = new TreeSet<>();
+        algorithms.values().forEach(code -> names.add(code.name()));
+        return Collections.unmodifiableSet(names);
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.coding.design;
+
+import java.util.Arrays;
+
+/**
+ * Typed outcome of a {@link DsaCode} run. Callers read the primitive value directly;
+ * {@link #describe()} builds a human readable string only when someone asks for one.
+ */
+public sealed interface DsaResult permits DsaResult.BooleanResult, DsaResult.IntResult, DsaResult.IntArrayResult {
+
+    String describe();
+
+    record BooleanResult(boolean value) implements DsaResult {
+        @Override
+        public String describe() {
+            return String.valueOf(value);
+        }
+    }
+
+    record IntResult(int value) implements DsaResult {
+        @Override
+        public String describe() {
+            return String.valueOf(value);
+        }
+    }
+
+    /** A view over {@code values}; the array is not copied. */
+    record IntArrayResult(int[] values) implements DsaResult {
+        @Override
+        public String describe() {
+            return Arrays.toString(values);
+        }
+    }
+}
@@ -1,22 +1,9 @@
 package com.example.coding.design;
 
-import com.example.coding.DSA.ArrayNonZero;
-import com.example.coding.DSA.LongSubString;
-import com.example.coding.DSA.Palindrome;
-
 public class FactoryDSA {
 
+    // kept for existing callers; instances are the shared singletons held by DsaRegistry
     public static DsaCode getMethod(String type) {
-
-        if("Palindrome".equalsIgnoreCase(type)) {
-            return new Palindrome();
-        }
-        if("ArrayNonZero".equalsIgnoreCase(type)){
-            return new ArrayNonZero();
-        }
-        if("LongSubString".equalsIgnoreCase(type)) {
-            return new LongSubString();
-        }
-        return null;
+        return DsaRegistry.getInstance().lookup(type);
     }
 }
@@ -1,9 +1,53 @@
 package com.example.coding.design;
 
+import java.io.PrintStream;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Asynchronous logger. {@link #message} only enqueues into a lock-free ring buffer; a
+ * dedicated drain thread writes queued messages to {@code System.out} in batches, so request
+ * threads never contend on the PrintStream lock.
+ *
+ * <p>Buffer capacity comes from the {@code app.logger.capacity} system property (default 8192).
+ * When the buffer is full the {@link OverflowPolicy} decides: {@code DROP} (the default, from
+ * {@code app.logger.overflow}) discards the message and counts it, {@code BLOCK} waits for space.
+ */
 public class SingletonLogger {
 
+    public enum OverflowPolicy { DROP, BLOCK }
+
+    private static final String PREFIX = "[LOG]=====>";
+    private static final int BATCH_SIZE = 256;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
     private static volatile SingletonLogger instance =null;
-    private SingletonLogger(){};
+
+    private final LogRingBuffer buffer;
+    private final Supplier<PrintStream> out;
+    private final Thread drainThread;
+    private final LongAdder offered = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private volatile OverflowPolicy overflowPolicy;
+
+    private SingletonLogger(){
+        this(Integer.getInteger("app.logger.capacity", 8192),
+                OverflowPolicy.valueOf(System.getProperty("app.logger.overflow", "DROP").toUpperCase(Locale.ROOT)),
+                () -> System.out);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> flush(TimeUnit.SECONDS.toMillis(2))));
+    };
+
+    // a private instance for tests, writing to the given stream
+    SingletonLogger(int capacity, OverflowPolicy overflowPolicy, Supplier<PrintStream> out) {
+        this.buffer = new LogRingBuffer(capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.out = out;
+        this.drainThread = Thread.ofPlatform().name("singleton-logger").daemon().start(this::drain);
+    }
 
     public static SingletonLogger getInstance() {
         if(instance==null) {
@@ -17,11 +61,87 @@ public class SingletonLogger {
     }
 
     public void message(String message) {
-        System.out.println("[LOG]=====>" + message);
+        enqueue(String.valueOf(message));
     }
 
     public void message(int message) {
-        System.out.println("[LOG]=====>" + message);
+        enqueue(Integer.toString(message));
+    }
+
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public int queueDepth() {
+        return buffer.size();
+    }
+
+    public int capacity() {
+        return buffer.capacity();
+    }
+
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    public long writtenCount() {
+        return written.sum();
+    }
+
+    /**
+     * Waits up to {@code timeoutMillis} for every message offered so far to be written or dropped.
+     * An empty buffer is not enough: the drain thread may still hold a polled batch it has not printed.
+     */
+    public boolean flush(long timeoutMillis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        long target = offered.sum();
+        while (written.sum() + dropped.sum() < target) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            LockSupport.unpark(drainThread);
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+        }
+        return true;
+    }
+
+    private void enqueue(String message) {
+        offered.increment();
+        if (buffer.offer(message)) {
+            return;
+        }
+        if (overflowPolicy == OverflowPolicy.DROP) {
+            dropped.increment();
+            return;
+        }
+        LockSupport.unpark(drainThread);
+        while (!buffer.offer(message)) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+        }
     }
 
+    private void drain() {
+        StringBuilder batch = new StringBuilder(BATCH_SIZE * 64);
+        while (true) {
+            int count = 0;
+            String message;
+            while (count < BATCH_SIZE && (message = buffer.poll()) != null) {
+                batch.append(PREFIX).append(message).append(System.lineSeparator());
+                count++;
+            }
+            if (count == 0) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                continue;
+            }
+            PrintStream stream = out.get();
+            stream.print(batch);
+            stream.flush();
+            written.add(count);
+            batch.setLength(0);
+        }
+    }
 }
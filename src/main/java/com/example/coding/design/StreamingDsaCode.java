@@ -0,0 +1,16 @@
+package com.example.coding.design;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * A {@link DsaCode} that can also consume its input incrementally from a channel, for inputs
+ * too large to hold in memory. Memory use does not grow with the input. Each byte is treated
+ * as one ISO-8859-1 character.
+ */
+public interface StreamingDsaCode extends DsaCode {
+
+    int CHUNK_SIZE = 64 * 1024;
+
+    DsaResult dsaChallenge(ReadableByteChannel channel) throws IOException;
+}
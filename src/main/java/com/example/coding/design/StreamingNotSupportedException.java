@@ -0,0 +1,9 @@
+package com.example.coding.design;
+
+/** Thrown when streamed or file input is sent to a {@link DsaCode} that is not a {@link StreamingDsaCode}; answered with 400. */
+public class StreamingNotSupportedException extends IllegalArgumentException {
+
+    public StreamingNotSupportedException(String name) {
+        super(name + " does not support streaming input");
+    }
+}
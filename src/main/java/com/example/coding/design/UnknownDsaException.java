@@ -0,0 +1,11 @@
+package com.example.coding.design;
+
+import java.util.NoSuchElementException;
+
+/** Thrown by {@link DsaRegistry#lookup} for a name no {@link DsaCode} is registered under; answered with 404. */
+public class UnknownDsaException extends NoSuchElementException {
+
+    public UnknownDsaException(String name) {
+        super("Unknown DSA algorithm: " + name);
+    }
+}
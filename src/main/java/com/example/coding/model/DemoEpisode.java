@@ -1,13 +1,42 @@
 package com.example.coding.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import org.springframework.data.domain.Persistable;
 
-import java.util.List;
-
+// an upstream character ("character" is reserved in MySQL, hence the table name)
+@Entity
+@Table(name = "upstream_character")
 @Getter
 @Setter
-public class DemoEpisode {
+public class DemoEpisode implements Persistable<Integer> {
 
+    @Id
+    Integer id;
     String name;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean persisted;
+
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
 }
@@ -1,16 +1,57 @@
 package com.example.coding.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import org.springframework.data.domain.Persistable;
 
 import java.util.List;
 
+// an upstream episode; the id is the upstream's, so persisted() tells JPA insert from update
+@Entity
+@Table(name = "episode")
 @Getter
 @Setter
-public class DemoModel {
+public class DemoModel implements Persistable<Integer> {
+
+    @Id
+    @JsonIgnore
+    private Integer id;
 
     private String name;
+
+    @Transient
     private List<String> characters;
 
+    // character ids decoded straight from the upstream payload, see EpisodeStreamDecoder
+    @JsonIgnore
+    @Convert(converter = IntArrayCsvConverter.class)
+    @Column(name = "character_ids", length = 4000)
+    private int[] characterIds;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean persisted;
+
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return !persisted;
+    }
 
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
 }
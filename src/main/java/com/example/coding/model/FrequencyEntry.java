@@ -0,0 +1,4 @@
+package com.example.coding.model;
+
+public record FrequencyEntry(String key, long count) {
+}
@@ -0,0 +1,37 @@
+package com.example.coding.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.Arrays;
+
+// stores an int[] as "1,2,3" in a single column; an empty array is an empty string
+@Converter
+public class IntArrayCsvConverter implements AttributeConverter<int[], String> {
+
+    @Override
+    public String convertToDatabaseColumn(int[] values) {
+        if (values == null) {
+            return null;
+        }
+        StringBuilder csv = new StringBuilder(values.length * 4);
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                csv.append(',');
+            }
+            csv.append(values[i]);
+        }
+        return csv.toString();
+    }
+
+    @Override
+    public int[] convertToEntityAttribute(String csv) {
+        if (csv == null) {
+            return null;
+        }
+        if (csv.isEmpty()) {
+            return new int[0];
+        }
+        return Arrays.stream(csv.split(",")).mapToInt(Integer::parseInt).toArray();
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.coding.model;
+
+import java.time.Instant;
+
+/**
+ * Snapshot of a background job as served by /jobs/{id}. {@code progress} is a fraction in
+ * [0, 1], or null while it is unknown; {@code result} is only set once the job succeeded.
+ */
+public record JobStatus(String id, String kind, Priority priority, State state, Double progress,
+                        Instant submittedAt, Instant startedAt, Instant finishedAt,
+                        Object result, String error) {
+
+    public enum State {
+        QUEUED, RUNNING, SUCCEEDED, FAILED, CANCELLED;
+
+        public boolean isFinished() {
+            return this != QUEUED && this != RUNNING;
+        }
+    }
+
+    // queued jobs start in this order, FIFO within a priority
+    public enum Priority { HIGH, NORMAL, LOW }
+}
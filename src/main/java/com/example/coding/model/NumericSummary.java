@@ -0,0 +1,9 @@
+package com.example.coding.model;
+
+import java.math.BigInteger;
+
+/**
+ * Aggregate of a numeric array. {@code max} is null for an empty input.
+ */
+public record NumericSummary(long count, long sum, long evenSum, BigInteger sumOfSquares, Long max) {
+}
@@ -0,0 +1,9 @@
+package com.example.coding.model;
+
+import java.util.List;
+
+// one page of an upstream catalog listing, e.g. /api/character?page=2
+public record UpstreamPage<T>(Info info, List<T> results) {
+
+    public record Info(int count, int pages, String next, String prev) {}
+}
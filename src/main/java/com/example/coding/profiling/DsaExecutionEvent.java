@@ -0,0 +1,31 @@
+package com.example.coding.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One {@code DsaCode} run through {@code TemplateRunnerService}. Input size is in chars for
+ * {@code memory} runs and bytes for {@code stream} runs; -1 means the built-in sample input, or a
+ * stream whose length was not counted because no recording was listening.
+ */
+@Name("com.example.coding.DsaExecution")
+@Label("DSA Execution")
+@Category({"Coding", "DSA"})
+@Description("A DsaCode algorithm run with its input size")
+@StackTrace(false)
+public class DsaExecutionEvent extends Event {
+
+    @Label("Algorithm")
+    public String algorithm;
+
+    @Label("Mode")
+    @Description("memory or stream")
+    public String mode;
+
+    @Label("Input Size")
+    public long inputSize;
+}
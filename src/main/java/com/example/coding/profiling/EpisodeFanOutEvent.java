@@ -0,0 +1,27 @@
+package com.example.coding.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** One episode's character fan-out: all upstream batches, from first submit to last result. */
+@Name("com.example.coding.EpisodeFanOut")
+@Label("Episode Fan-Out")
+@Category({"Coding", "Upstream"})
+@Description("Character resolution for one episode across parallel upstream batches")
+@StackTrace(false)
+public class EpisodeFanOutEvent extends Event {
+
+    @Label("Characters")
+    public int characters;
+
+    @Label("Batches")
+    public int batches;
+
+    @Label("Outcome")
+    @Description("resolved, timeout or failed")
+    public String outcome;
+}
@@ -0,0 +1,156 @@
+package com.example.coding.profiling;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * On-demand flight recordings. {@code POST /actuator/jfr}, e.g. {@code {"duration": "30s",
+ * "settings": "profile"}}, starts a time-boxed recording and answers 202 at once; JFR stops it on
+ * its own. {@code GET /actuator/jfr} then answers 409 while it runs and the .jfr file once it has
+ * stopped, after which the file is gone. One recording exists at a time; starting another while
+ * one runs gets 409.
+ *
+ * <p>Only the events in {@link #EVENTS} are recorded: the application's own
+ * ({@link DsaExecutionEvent}, {@link UpstreamCallEvent}, {@link EpisodeFanOutEvent}) and the JDK's
+ * CPU, GC, contention and I/O events. Everything else stays off, as several JDK events copy the
+ * environment, system and security properties, JVM arguments or process command lines into the file.
+ *
+ * <p>The endpoint only exists when the actuator listens on its own loopback-bound port, see
+ * {@link OnLoopbackManagementServer}, and must also be added to the web exposure.
+ */
+@Component
+@Conditional(OnLoopbackManagementServer.class)
+@Endpoint(id = "jfr")
+public class FlightRecorderEndpoint {
+
+    static final Set<String> EVENTS = Set.of(
+            "com.example.coding.DsaExecution", "com.example.coding.UpstreamCall", "com.example.coding.EpisodeFanOut",
+            "jdk.ExecutionSample", "jdk.NativeMethodSample", "jdk.CPULoad", "jdk.ThreadCPULoad",
+            "jdk.GarbageCollection", "jdk.YoungGarbageCollection", "jdk.OldGarbageCollection",
+            "jdk.G1GarbageCollection", "jdk.GCPhasePause", "jdk.GCHeapSummary", "jdk.MetaspaceSummary",
+            "jdk.ObjectAllocationSample", "jdk.JavaMonitorEnter", "jdk.JavaMonitorWait", "jdk.ThreadPark",
+            "jdk.VirtualThreadPinned", "jdk.SocketRead", "jdk.SocketWrite", "jdk.FileRead", "jdk.FileWrite",
+            "jdk.JavaThreadStatistics", "jdk.SafepointBegin", "jdk.Compilation");
+
+    private static final Set<String> SETTINGS = Set.of("default", "profile");
+
+    private final Duration defaultDuration;
+    private final Duration maxDuration;
+    private Recording recording;
+    private Path file;
+
+    public FlightRecorderEndpoint(@Value("${app.profiling.default-duration:30s}") Duration defaultDuration,
+                                  @Value("${app.profiling.max-duration:5m}") Duration maxDuration) {
+        this.defaultDuration = defaultDuration;
+        this.maxDuration = maxDuration;
+    }
+
+    @WriteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> start(@Nullable Duration duration,
+                                                                       @Nullable String settings)
+            throws IOException, ParseException {
+        Duration length = duration == null ? defaultDuration : duration;
+        if (length.isNegative() || length.isZero() || length.compareTo(maxDuration) > 0) {
+            throw new InvalidEndpointRequestException("Duration must be positive and at most " + maxDuration,
+                    "Invalid duration");
+        }
+        String configuration = settings == null ? "profile" : settings;
+        if (!SETTINGS.contains(configuration)) {
+            throw new InvalidEndpointRequestException("Settings must be one of " + SETTINGS, "Invalid settings");
+        }
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return new WebEndpointResponse<>(HttpStatus.CONFLICT.value());
+        }
+        discard();
+        Path destination = Files.createTempFile("coding-", ".jfr");
+        Recording started = new Recording(settings(Configuration.getConfiguration(configuration)));
+        try {
+            started.setName("coding-on-demand");
+            started.setToDisk(true);
+            started.setDestination(destination);
+            started.setDuration(length);
+            started.start();
+        } catch (IOException | RuntimeException ex) {
+            started.close();
+            Files.deleteIfExists(destination);
+            throw ex;
+        }
+        recording = started;
+        file = destination;
+        Map<String, Object> status = Map.of("state", "RUNNING", "until", Instant.now().plus(length).toString());
+        return new WebEndpointResponse<>(status, HttpStatus.ACCEPTED.value());
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> download() throws IOException {
+        if (recording == null) {
+            return new WebEndpointResponse<>(HttpStatus.NOT_FOUND.value());
+        }
+        // a recording with a duration and a destination is closed by JFR once it has written the file
+        RecordingState state = recording.getState();
+        if (state != RecordingState.STOPPED && state != RecordingState.CLOSED) {
+            return new WebEndpointResponse<>(HttpStatus.CONFLICT.value());
+        }
+        // the file goes away once the response body has been written
+        Resource body = new InputStreamResource(Files.newInputStream(file, StandardOpenOption.DELETE_ON_CLOSE));
+        recording.close();
+        recording = null;
+        file = null;
+        return new WebEndpointResponse<>(body, WebEndpointResponse.STATUS_OK);
+    }
+
+    @PreDestroy
+    synchronized void discard() throws IOException {
+        if (recording != null) {
+            recording.close();
+            Files.deleteIfExists(file);
+            recording = null;
+            file = null;
+        }
+    }
+
+    // the settings file's thresholds and periods for the allowed events, every other known event off
+    static Map<String, String> settings(Configuration configuration) {
+        Map<String, String> settings = new HashMap<>();
+        configuration.getSettings().forEach((key, value) -> {
+            int separator = key.indexOf('#');
+            if (separator > 0 && EVENTS.contains(key.substring(0, separator))) {
+                settings.put(key, value);
+            }
+        });
+        EVENTS.forEach(event -> settings.putIfAbsent(event + "#enabled", "true"));
+        for (EventType type : FlightRecorder.getFlightRecorder().getEventTypes()) {
+            if (!EVENTS.contains(type.getName())) {
+                settings.put(type.getName() + "#enabled", "false");
+            }
+        }
+        return settings;
+    }
+}
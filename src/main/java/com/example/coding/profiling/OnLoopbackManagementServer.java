@@ -0,0 +1,42 @@
+package com.example.coding.profiling;
+
+import org.springframework.boot.autoconfigure.condition.ConditionMessage;
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * Matches when the actuator runs on a port of its own ({@code management.server.port}, different
+ * from {@code server.port}) bound to a loopback {@code management.server.address}, i.e. when its
+ * endpoints cannot be reached from outside the host.
+ */
+class OnLoopbackManagementServer extends SpringBootCondition {
+
+    @Override
+    public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        ConditionMessage.Builder message = ConditionMessage.forCondition("Loopback management server");
+        Environment environment = context.getEnvironment();
+        Integer port = environment.getProperty("management.server.port", Integer.class);
+        // on the application's own port the actuator ignores management.server.address
+        if (port == null || port <= 0 || port.equals(environment.getProperty("server.port", Integer.class, 8080))) {
+            return ConditionOutcome.noMatch(message.because("management.server.port is not a separate port"));
+        }
+        String address = environment.getProperty("management.server.address");
+        if (address == null) {
+            return ConditionOutcome.noMatch(message.because("management.server.address is not set"));
+        }
+        try {
+            if (InetAddress.getByName(address).isLoopbackAddress()) {
+                return ConditionOutcome.match(message.because("bound to " + address + ":" + port));
+            }
+        } catch (UnknownHostException ex) {
+            return ConditionOutcome.noMatch(message.because("management.server.address " + address + " does not resolve"));
+        }
+        return ConditionOutcome.noMatch(message.because("management.server.address " + address + " is not a loopback address"));
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.coding.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One upstream HTTP exchange made through the application's {@code RestClient}, from sending the
+ * request until the response is closed, so body transfer and decoding are inside the duration.
+ */
+@Name("com.example.coding.UpstreamCall")
+@Label("Upstream Call")
+@Category({"Coding", "Upstream"})
+@Description("An upstream HTTP call with its URI template, status and response size")
+@StackTrace(false)
+public class UpstreamCallEvent extends Event {
+
+    @Label("Method")
+    public String method;
+
+    @Label("URI Template")
+    public String uriTemplate;
+
+    @Label("URI")
+    public String uri;
+
+    @Label("Status")
+    @Description("HTTP status, or 0 when no response arrived")
+    public int status;
+
+    @Label("Bytes Read")
+    @Description("Response body bytes read, after transparent decompression")
+    @DataAmount
+    public long bytes;
+}
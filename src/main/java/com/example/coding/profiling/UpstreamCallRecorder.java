@@ -0,0 +1,129 @@
+package com.example.coding.profiling;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+
+/**
+ * Emits an {@link UpstreamCallEvent} per RestClient exchange. With no recording listening this is
+ * one enabled check and a pass-through; otherwise the response body is wrapped to count bytes and
+ * the event is committed when RestClient closes the response.
+ */
+public class UpstreamCallRecorder implements ClientHttpRequestInterceptor {
+
+    // set by RestClient when the URI was given as a template, e.g. "/api/episode/{id}" behind the base URL
+    private static final String URI_TEMPLATE_ATTRIBUTE = "org.springframework.web.client.RestClient.uriTemplate";
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        UpstreamCallEvent event = new UpstreamCallEvent();
+        if (!event.isEnabled()) {
+            return execution.execute(request, body);
+        }
+        event.begin();
+        event.method = request.getMethod().name();
+        event.uri = request.getURI().toString();
+        event.uriTemplate = uriTemplate(request);
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (IOException | RuntimeException ex) {
+            event.commit();
+            throw ex;
+        }
+        event.status = response.getStatusCode().value();
+        return new RecordedResponse(response, event);
+    }
+
+    // the template carries the base URL; the host is already in the uri field
+    private static String uriTemplate(HttpRequest request) {
+        URI uri = request.getURI();
+        if (!(request.getAttributes().get(URI_TEMPLATE_ATTRIBUTE) instanceof String template)) {
+            return uri.getRawPath();
+        }
+        String origin = uri.getScheme() + "://" + uri.getRawAuthority();
+        return template.startsWith(origin) ? template.substring(origin.length()) : template;
+    }
+
+    private static final class RecordedResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final UpstreamCallEvent event;
+        private InputStream body;
+        private boolean committed;
+
+        RecordedResponse(ClientHttpResponse delegate, UpstreamCallEvent event) {
+            this.delegate = delegate;
+            this.event = event;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = new FilterInputStream(delegate.getBody()) {
+                    @Override
+                    public int read() throws IOException {
+                        int b = super.read();
+                        if (b >= 0) {
+                            event.bytes++;
+                        }
+                        return b;
+                    }
+
+                    @Override
+                    public int read(byte[] buffer, int offset, int length) throws IOException {
+                        int n = super.read(buffer, offset, length);
+                        if (n > 0) {
+                            event.bytes += n;
+                        }
+                        return n;
+                    }
+
+                    @Override
+                    public long skip(long n) throws IOException {
+                        long skipped = super.skip(n);
+                        event.bytes += skipped;
+                        return skipped;
+                    }
+                };
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                if (!committed) {
+                    committed = true;
+                    event.commit();
+                }
+            }
+        }
+    }
+}
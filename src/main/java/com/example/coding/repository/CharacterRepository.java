@@ -0,0 +1,17 @@
+package com.example.coding.repository;
+
+import com.example.coding.model.DemoEpisode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CharacterRepository extends JpaRepository<DemoEpisode,Integer> {
+
+    @Query("select c.id from DemoEpisode c where c.id in :ids")
+    List<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
+}
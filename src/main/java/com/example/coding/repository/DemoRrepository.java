@@ -2,9 +2,16 @@ package com.example.coding.repository;
 
 import com.example.coding.model.DemoModel;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-@NoRepositoryBean
-public interface DemoRrepository extends JpaRepository<DemoModel,Long> {
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DemoRrepository extends JpaRepository<DemoModel,Integer> {
+
+    @Query("select e.id from DemoModel e where e.id in :ids")
+    List<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
 }
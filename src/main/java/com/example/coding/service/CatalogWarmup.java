@@ -0,0 +1,228 @@
+package com.example.coding.service;
+
+import com.example.coding.config.WarmupProperties;
+import com.example.coding.design.SingletonLogger;
+import com.example.coding.model.DemoEpisode;
+import com.example.coding.model.DemoModel;
+import com.example.coding.model.UpstreamPage;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.DefaultResponseErrorHandler;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pages through the upstream episode and character catalogs and loads every row into
+ * {@link UpstreamCache} (and {@link UpstreamStore}, when enabled), so first requests after a
+ * deploy do not go upstream.
+ *
+ * <p>The startup sweep runs as an {@link ApplicationRunner}; Spring Boot only reports the
+ * application ready once runners return, so readiness is held until the sweep finishes or
+ * {@code app.warmup.budget} runs out. Later sweeps are incremental: every page is re-requested
+ * with the ETag it last answered with, and only pages that changed are decoded. The rows of an
+ * unchanged page are renewed in the cache from its stale tier, so they do not expire between
+ * sweeps; a page whose rows have left the stale tier as well is fetched in full.
+ */
+@Component
+@EnableConfigurationProperties(WarmupProperties.class)
+public class CatalogWarmup implements ApplicationRunner {
+
+    /** Outcome of one sweep; {@code completed} is false when the budget ran out first. */
+    public record Result(int fetched, int notModified, int failed, boolean completed) {}
+
+    private static final int NOT_MODIFIED = -1;
+
+    private final RestClient restClient;
+    private final EpisodeStreamDecoder episodeDecoder;
+    private final ObjectMapper objectMapper;
+    private final UpstreamCache upstreamCache;
+    private final UpstreamStore upstreamStore;
+    private final UpstreamGuard upstreamGuard;
+    private final SingletonLogger logger;
+    private final WarmupProperties properties;
+    private final DefaultResponseErrorHandler errorHandler = new DefaultResponseErrorHandler();
+
+    // last ETag and ids per page, and page count per catalog, for conditional refreshes
+    private final Map<String, String> pageEtags = new ConcurrentHashMap<>();
+    private final Map<String, List<Integer>> pageIds = new ConcurrentHashMap<>();
+    private final Map<UpstreamCache.Resource, Integer> pageCounts = new ConcurrentHashMap<>();
+
+    public CatalogWarmup(RestClient restClient, EpisodeStreamDecoder episodeDecoder, ObjectMapper objectMapper,
+                         UpstreamCache upstreamCache, UpstreamStore upstreamStore, UpstreamGuard upstreamGuard,
+                         SingletonLogger logger, WarmupProperties properties) {
+        this.restClient = restClient;
+        this.episodeDecoder = episodeDecoder;
+        this.objectMapper = objectMapper;
+        this.upstreamCache = upstreamCache;
+        this.upstreamStore = upstreamStore;
+        this.upstreamGuard = upstreamGuard;
+        this.logger = logger;
+        this.properties = properties;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (properties.enabled()) {
+            logger.message("Catalog warm-up====> " + sweep());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.warmup.refresh-interval:10m}",
+            initialDelayString = "${app.warmup.refresh-interval:10m}")
+    public void scheduledRefresh() {
+        if (properties.enabled()) {
+            logger.message("Catalog refresh====> " + sweep());
+        }
+    }
+
+    /**
+     * Fetches page 1 of both catalogs, then their remaining pages, at most
+     * {@code app.warmup.parallelism} at a time and within {@code app.warmup.budget}. Pages
+     * still in flight when the budget runs out are abandoned.
+     */
+    public Result sweep() {
+        long deadline = System.nanoTime() + properties.budget().toNanos();
+        AtomicInteger fetched = new AtomicInteger();
+        AtomicInteger notModified = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        Semaphore permits = new Semaphore(properties.parallelism());
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        boolean completed = false;
+        try {
+            Map<UpstreamCache.Resource, Future<Integer>> firstPages = new EnumMap<>(UpstreamCache.Resource.class);
+            for (UpstreamCache.Resource resource : UpstreamCache.Resource.values()) {
+                firstPages.put(resource, executor.submit(
+                        () -> fetchPage(resource, 1, permits, fetched, notModified, failed)));
+            }
+            List<Future<Integer>> pages = new ArrayList<>();
+            for (Map.Entry<UpstreamCache.Resource, Future<Integer>> first : firstPages.entrySet()) {
+                int pageCount = first.getValue().get(remaining(deadline), TimeUnit.NANOSECONDS);
+                for (int page = 2; page <= pageCount; page++) {
+                    int next = page;
+                    pages.add(executor.submit(
+                            () -> fetchPage(first.getKey(), next, permits, fetched, notModified, failed)));
+                }
+            }
+            for (Future<Integer> page : pages) {
+                page.get(remaining(deadline), TimeUnit.NANOSECONDS);
+            }
+            completed = true;
+        } catch (TimeoutException ex) {
+            // budget exhausted: serve with whatever is cached so far
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ex) {
+            // fetchPage counts its own failures, so this is unexpected
+            logger.message("Catalog sweep failed: " + ex.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return new Result(fetched.get(), notModified.get(), failed.get(), completed);
+    }
+
+    // returns the catalog's page count, as reported by this page or remembered from earlier sweeps
+    private int fetchPage(UpstreamCache.Resource resource, int page, Semaphore permits,
+                          AtomicInteger fetched, AtomicInteger notModified, AtomicInteger failed)
+            throws InterruptedException {
+        permits.acquire();
+        try {
+            String pageKey = pageKey(resource, page);
+            int pageCount = conditionalGet(resource, page);
+            if (pageCount == NOT_MODIFIED && !upstreamCache.renew(resource, pageIds.getOrDefault(pageKey, List.of()))) {
+                // nothing left to renew the page's rows from: read it in full
+                pageEtags.remove(pageKey);
+                pageCount = conditionalGet(resource, page);
+            }
+            if (pageCount == NOT_MODIFIED) {
+                notModified.incrementAndGet();
+                return pageCounts.getOrDefault(resource, 0);
+            }
+            fetched.incrementAndGet();
+            pageCounts.put(resource, pageCount);
+            return pageCount;
+        } catch (RuntimeException ex) {
+            failed.incrementAndGet();
+            return pageCounts.getOrDefault(resource, 0);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private int conditionalGet(UpstreamCache.Resource resource, int page) {
+        String endpoint = resource == UpstreamCache.Resource.EPISODE ? "episode" : "character";
+        String pageKey = pageKey(resource, page);
+        String etag = pageEtags.get(pageKey);
+        return upstreamGuard.call(endpoint, () -> restClient.get()
+                .uri("/api/" + endpoint + "?page={page}", page)
+                .headers(headers -> {
+                    if (etag != null) {
+                        headers.setIfNoneMatch(etag);
+                    }
+                })
+                .exchange((request, response) -> {
+                    if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                        return NOT_MODIFIED;
+                    }
+                    if (errorHandler.hasError(response)) {
+                        errorHandler.handleError(request.getURI(), request.getMethod(), response);
+                    }
+                    int pageCount = resource == UpstreamCache.Resource.EPISODE
+                            ? putEpisodes(pageKey, response.getBody())
+                            : putCharacters(pageKey, response.getBody());
+                    String newEtag = response.getHeaders().getETag();
+                    if (newEtag != null) {
+                        pageEtags.put(pageKey, newEtag);
+                    }
+                    return pageCount;
+                }));
+    }
+
+    private int putEpisodes(String pageKey, InputStream body) throws IOException {
+        UpstreamPage<DemoModel> page = episodeDecoder.decodeEpisodePage(body);
+        for (DemoModel episode : page.results()) {
+            upstreamCache.put(UpstreamCache.Resource.EPISODE, episode.getId(), episode);
+        }
+        pageIds.put(pageKey, page.results().stream().map(DemoModel::getId).toList());
+        upstreamStore.offerEpisodes(page.results());
+        return page.info().pages();
+    }
+
+    private int putCharacters(String pageKey, InputStream body) throws IOException {
+        UpstreamPage<DemoEpisode> page = objectMapper.readValue(body, new TypeReference<>() {});
+        for (DemoEpisode character : page.results()) {
+            upstreamCache.put(UpstreamCache.Resource.CHARACTER, character.getId(), character);
+        }
+        pageIds.put(pageKey, page.results().stream().map(DemoEpisode::getId).toList());
+        upstreamStore.offerCharacters(page.results());
+        return page.info().pages();
+    }
+
+    private static String pageKey(UpstreamCache.Resource resource, int page) {
+        return (resource == UpstreamCache.Resource.EPISODE ? "episode" : "character") + "?page=" + page;
+    }
+
+    private static long remaining(long deadline) {
+        return Math.max(0, deadline - System.nanoTime());
+    }
+}
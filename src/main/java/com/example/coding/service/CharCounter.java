@@ -0,0 +1,48 @@
+package com.example.coding.service;
+
+import com.example.coding.model.FrequencyEntry;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Character frequencies in a dense {@code long[]} indexed by the char itself. The table
+ * starts at 256 slots (Latin-1) and widens to the full char range on the first char outside it.
+ */
+public final class CharCounter {
+
+    private long[] counts = new long[256];
+
+    public void add(CharSequence text, int start, int end) {
+        long[] table = counts;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c >= table.length) {
+                table = widen();
+            }
+            table[c]++;
+        }
+    }
+
+    public void merge(CharCounter other) {
+        if (other.counts.length > counts.length) {
+            widen();
+        }
+        for (int c = 0; c < other.counts.length; c++) {
+            counts[c] += other.counts[c];
+        }
+    }
+
+    public long get(char c) {
+        return c < counts.length ? counts[c] : 0;
+    }
+
+    public List<FrequencyEntry> top(int k) {
+        return TopK.select(counts, k, slot -> String.valueOf((char) slot));
+    }
+
+    private long[] widen() {
+        counts = Arrays.copyOf(counts, Character.MAX_VALUE + 1);
+        return counts;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.coding.service;
+
+import com.example.coding.model.DemoEpisode;
+import com.example.coding.profiling.EpisodeFanOutEvent;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Resolves character ids to names for an episode. Ids are split into batches for the
+ * upstream multi-id endpoint and every batch runs on its own virtual thread, so the
+ * latency of a fan-out is the latency of the slowest batch.
+ */
+@Service
+public class CharacterResolverService {
+
+    private final DemoService demoService;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final int batchSize;
+    private final long deadlineMillis;
+
+    public CharacterResolverService(DemoService demoService,
+                                    @Value("${app.episode.batch-size:20}") int batchSize,
+                                    @Value("${app.episode.deadline-ms:3000}") long deadlineMillis) {
+        this.demoService = demoService;
+        this.batchSize = Math.max(1, batchSize);
+        this.deadlineMillis = deadlineMillis;
+    }
+
+    /**
+     * Returns the character names in the same order as {@code ids}.
+     *
+     * @throws TimeoutException if the batches did not all finish within the per-request deadline
+     */
+    public List<String> resolveNames(int[] ids) throws TimeoutException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMillis);
+        EpisodeFanOutEvent event = new EpisodeFanOutEvent();
+        event.begin();
+
+        List<Future<List<DemoEpisode>>> batches = new ArrayList<>();
+        for (int from = 0; from < ids.length; from += batchSize) {
+            List<Integer> batch = new ArrayList<>(batchSize);
+            for (int i = from; i < Math.min(from + batchSize, ids.length); i++) {
+                batch.add(ids[i]);
+            }
+            batches.add(executor.submit(() -> demoService.fetchDemoEpisodeNames(batch)));
+        }
+
+        Map<Integer, String> names = new HashMap<>(ids.length * 2);
+        try {
+            for (Future<List<DemoEpisode>> batch : batches) {
+                long remaining = deadline - System.nanoTime();
+                for (DemoEpisode character : batch.get(Math.max(0, remaining), TimeUnit.NANOSECONDS)) {
+                    names.put(character.getId(), character.getName());
+                }
+            }
+        } catch (TimeoutException ex) {
+            batches.forEach(batch -> batch.cancel(true));
+            commit(event, ids.length, batches.size(), "timeout");
+            throw new TimeoutException("Character resolution exceeded " + deadlineMillis + " ms");
+        } catch (InterruptedException ex) {
+            batches.forEach(batch -> batch.cancel(true));
+            commit(event, ids.length, batches.size(), "failed");
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while resolving characters", ex);
+        } catch (ExecutionException ex) {
+            batches.forEach(batch -> batch.cancel(true));
+            commit(event, ids.length, batches.size(), "failed");
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+        commit(event, ids.length, batches.size(), "resolved");
+
+        List<String> result = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            result.add(names.get(id));
+        }
+        return result;
+    }
+
+    // batches still in flight are interrupted rather than left running past the context
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static void commit(EpisodeFanOutEvent event, int characters, int batches, String outcome) {
+        if (event.shouldCommit()) {
+            event.characters = characters;
+            event.batches = batches;
+            event.outcome = outcome;
+            event.commit();
+        }
+    }
+}
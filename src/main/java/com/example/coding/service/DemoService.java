@@ -3,6 +3,8 @@ package com.example.coding.service;
 import com.example.coding.model.DemoEpisode;
 import com.example.coding.model.DemoModel;
 
+import java.util.List;
+
 public interface DemoService {
 
     DemoModel createDemo(DemoModel demo);
@@ -12,4 +14,7 @@ public interface DemoService {
     DemoModel fetchDemoEpisode(Integer id);
 
     DemoEpisode fetchDemoEpisodeName(Integer id);
+
+    // one upstream call for the whole batch, via the multi-id endpoint /api/character/1,2,3
+    List<DemoEpisode> fetchDemoEpisodeNames(List<Integer> ids);
 }
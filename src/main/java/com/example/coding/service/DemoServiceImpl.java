@@ -2,9 +2,19 @@ package com.example.coding.service;
 
 import com.example.coding.model.DemoEpisode;
 import com.example.coding.model.DemoModel;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.DefaultResponseErrorHandler;
 import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 public class DemoServiceImpl implements DemoService{
@@ -12,6 +22,20 @@ public class DemoServiceImpl implements DemoService{
     @Autowired
     private RestClient restClient;
 
+    @Autowired
+    private UpstreamCache upstreamCache;
+
+    @Autowired
+    private EpisodeStreamDecoder episodeDecoder;
+
+    @Autowired
+    private UpstreamGuard upstreamGuard;
+
+    @Autowired
+    private UpstreamStore upstreamStore;
+
+    private final DefaultResponseErrorHandler errorHandler = new DefaultResponseErrorHandler();
+
     @Override
     public DemoModel createDemo(DemoModel demo) {
         return demo;
@@ -26,16 +50,95 @@ public class DemoServiceImpl implements DemoService{
 
     @Override
     public DemoModel fetchDemoEpisode(Integer id) {
-        return restClient.get()
-                .uri("/api/episode/{id}",id)
-                .retrieve()
-                .body(DemoModel.class);
+        try {
+            return upstreamCache.get(UpstreamCache.Resource.EPISODE, id,
+                    key -> upstreamStore.episode(key,
+                            missing -> upstreamGuard.call("episode", () -> loadEpisode(missing))));
+        } catch (RuntimeException ex) {
+            return staleOrThrow(UpstreamCache.Resource.EPISODE, id, ex);
+        }
     }
     @Override
     public DemoEpisode fetchDemoEpisodeName(Integer id) {
+        try {
+            return upstreamCache.get(UpstreamCache.Resource.CHARACTER, id,
+                    key -> upstreamStore.character(key,
+                            missing -> upstreamGuard.call("character", () -> loadCharacter(missing))));
+        } catch (RuntimeException ex) {
+            return staleOrThrow(UpstreamCache.Resource.CHARACTER, id, ex);
+        }
+    }
+
+    @Override
+    public List<DemoEpisode> fetchDemoEpisodeNames(List<Integer> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        try {
+            Map<Integer, DemoEpisode> characters = upstreamCache.getAll(UpstreamCache.Resource.CHARACTER, ids,
+                    missing -> upstreamStore.characters(missing,
+                            absent -> upstreamGuard.call("character", () -> loadCharacters(absent))));
+            return List.copyOf(characters.values());
+        } catch (RuntimeException ex) {
+            List<DemoEpisode> stale = new ArrayList<>(ids.size());
+            for (Integer id : ids) {
+                stale.add(staleOrThrow(UpstreamCache.Resource.CHARACTER, id, ex));
+            }
+            return stale;
+        }
+    }
+
+    // serve the last known value while the upstream is unavailable; client errors pass through
+    private <T> T staleOrThrow(UpstreamCache.Resource resource, Integer id, RuntimeException ex) {
+        if (!upstreamGuard.isUnavailable(ex)) {
+            throw ex;
+        }
+        T stale = upstreamCache.getStale(resource, id);
+        if (stale == null) {
+            throw ex;
+        }
+        return stale;
+    }
+
+    private DemoModel loadEpisode(Integer id) {
+        return restClient.get()
+                .uri("/api/episode/{id}",id)
+                .exchange((request, response) -> {
+                    if (errorHandler.hasError(response)) {
+                        errorHandler.handleError(request.getURI(), request.getMethod(), response);
+                    }
+                    try {
+                        return episodeDecoder.decodeEpisode(response.getBody());
+                    } catch (JsonProcessingException ex) {
+                        // not an I/O failure: RestClient would report it as ResourceAccessException
+                        throw new RestClientException("Malformed episode " + id + " from upstream", ex);
+                    }
+                });
+    }
+
+    private DemoEpisode loadCharacter(Integer id) {
         return restClient.get()
                 .uri("/api/character/{id}",id)
                 .retrieve()
                 .body(DemoEpisode.class);
     }
+
+    private Map<Integer, DemoEpisode> loadCharacters(List<Integer> ids) {
+        // the multi-id endpoint answers a single id with an object instead of an array
+        List<DemoEpisode> characters;
+        if (ids.size() == 1) {
+            characters = List.of(loadCharacter(ids.get(0)));
+        } else {
+            String joined = ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+            characters = restClient.get()
+                    .uri("/api/character/{ids}",joined)
+                    .retrieve()
+                    .body(new ParameterizedTypeReference<List<DemoEpisode>>() {});
+        }
+        Map<Integer, DemoEpisode> byId = new HashMap<>();
+        for (DemoEpisode character : characters) {
+            byId.put(character.getId(), character);
+        }
+        return byId;
+    }
 }
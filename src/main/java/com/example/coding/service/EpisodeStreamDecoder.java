@@ -0,0 +1,129 @@
+package com.example.coding.service;
+
+import com.example.coding.model.DemoModel;
+import com.example.coding.model.UpstreamPage;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Pull-parses upstream episode payloads. Only {@code id}, {@code name} and {@code characters} are read;
+ * every other field is skipped without being materialized, and character ids are parsed
+ * from the parser's own char buffer instead of building and splitting URL strings. A malformed
+ * payload fails with {@link JsonParseException}, so callers can tell it from a failed read.
+ */
+@Component
+public class EpisodeStreamDecoder {
+
+    private final JsonFactory jsonFactory;
+
+    public EpisodeStreamDecoder(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    public DemoModel decodeEpisode(InputStream body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected an episode object but got " + parser.currentToken());
+            }
+            return decodeEpisode(parser);
+        }
+    }
+
+    /** Decodes one page of the {@code /api/episode} listing, each result as {@link #decodeEpisode}. */
+    public UpstreamPage<DemoModel> decodeEpisodePage(InputStream body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected an episode page but got " + parser.currentToken());
+            }
+            UpstreamPage.Info info = null;
+            List<DemoModel> results = new ArrayList<>();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("info".equals(field) && value == JsonToken.START_OBJECT) {
+                    info = parser.readValueAs(UpstreamPage.Info.class);
+                } else if ("results".equals(field) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        results.add(decodeEpisode(parser));
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (info == null) {
+                throw new JsonParseException(parser, "Episode page without info");
+            }
+            return new UpstreamPage<>(info, results);
+        }
+    }
+
+    /** Decodes one episode object; the parser must be positioned on its START_OBJECT. */
+    DemoModel decodeEpisode(JsonParser parser) throws IOException {
+        DemoModel model = new DemoModel();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("id".equals(field) && value == JsonToken.VALUE_NUMBER_INT) {
+                model.setId(parser.getIntValue());
+            } else if ("name".equals(field) && value == JsonToken.VALUE_STRING) {
+                model.setName(parser.getText());
+            } else if ("characters".equals(field) && value == JsonToken.START_ARRAY) {
+                model.setCharacterIds(readCharacterIds(parser));
+            } else {
+                parser.skipChildren();
+            }
+        }
+        if (model.getCharacterIds() == null) {
+            model.setCharacterIds(new int[0]);
+        }
+        return model;
+    }
+
+    private static int[] readCharacterIds(JsonParser parser) throws IOException {
+        int[] ids = new int[64];
+        int count = 0;
+        while (parser.nextToken() == JsonToken.VALUE_STRING) {
+            if (count == ids.length) {
+                ids = Arrays.copyOf(ids, count * 2);
+            }
+            int id = trailingId(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            if (id < 0) {
+                throw new JsonParseException(parser, "No character id in " + parser.getText());
+            }
+            ids[count++] = id;
+        }
+        if (parser.currentToken() != JsonToken.END_ARRAY) {
+            throw new JsonParseException(parser, "Expected character URL strings but got " + parser.currentToken());
+        }
+        return Arrays.copyOf(ids, count);
+    }
+
+    // ".../api/character/42" -> 42, read right to left from the last path segment; -1 if there is none
+    static int trailingId(char[] chars, int offset, int length) {
+        int end = offset + length;
+        while (end > offset && chars[end - 1] == '/') {
+            end--;
+        }
+        int id = 0;
+        int multiplier = 1;
+        int i = end - 1;
+        for (; i >= offset && chars[i] >= '0' && chars[i] <= '9'; i--) {
+            id += (chars[i] - '0') * multiplier;
+            multiplier *= 10;
+        }
+        if (i == end - 1 || end - 1 - i > 9) {
+            return -1;
+        }
+        return id;
+    }
+}
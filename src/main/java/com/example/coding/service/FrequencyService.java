@@ -0,0 +1,98 @@
+package com.example.coding.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Character and token frequency counting over large texts. Texts at or above the parallel
+ * threshold are cut into chunks at token boundaries, counted independently on the fork-join
+ * pool and merged.
+ */
+@Service
+public class FrequencyService {
+
+    private final int parallelThreshold;
+
+    public FrequencyService(@Value("${app.frequency.parallel-threshold:1000000}") int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    public CharCounter countChars(String text) {
+        int[] bounds = chunkBounds(text);
+        if (bounds.length == 2) {
+            CharCounter counter = new CharCounter();
+            counter.add(text, 0, text.length());
+            return counter;
+        }
+        return IntStream.range(0, bounds.length - 1).parallel()
+                .mapToObj(chunk -> {
+                    CharCounter counter = new CharCounter();
+                    counter.add(text, bounds[chunk], bounds[chunk + 1]);
+                    return counter;
+                })
+                .reduce((left, right) -> {
+                    left.merge(right);
+                    return left;
+                })
+                .orElseGet(CharCounter::new);
+    }
+
+    /** Tokens are maximal runs of letters and digits; everything else separates them. */
+    public TokenCounter countTokens(String text) {
+        int[] bounds = chunkBounds(text);
+        if (bounds.length == 2) {
+            return countTokens(text, 0, text.length());
+        }
+        return IntStream.range(0, bounds.length - 1).parallel()
+                .mapToObj(chunk -> countTokens(text, bounds[chunk], bounds[chunk + 1]))
+                .reduce((left, right) -> {
+                    left.merge(right);
+                    return left;
+                })
+                .orElseGet(TokenCounter::new);
+    }
+
+    private static TokenCounter countTokens(String text, int start, int end) {
+        TokenCounter counter = new TokenCounter();
+        int tokenStart = -1;
+        for (int i = start; i < end; i++) {
+            if (Character.isLetterOrDigit(text.charAt(i))) {
+                if (tokenStart < 0) {
+                    tokenStart = i;
+                }
+            } else if (tokenStart >= 0) {
+                counter.increment(text, tokenStart, i);
+                tokenStart = -1;
+            }
+        }
+        if (tokenStart >= 0) {
+            counter.increment(text, tokenStart, end);
+        }
+        return counter;
+    }
+
+    // chunk boundaries, each moved forward past the token it would otherwise split
+    private int[] chunkBounds(String text) {
+        int length = text.length();
+        if (length < parallelThreshold) {
+            return new int[]{0, length};
+        }
+        int chunks = Math.max(2, Runtime.getRuntime().availableProcessors() * 4);
+        int[] bounds = new int[chunks + 1];
+        int count = 1;
+        for (int chunk = 1; chunk < chunks; chunk++) {
+            int bound = Math.max((int) ((long) length * chunk / chunks), bounds[count - 1]);
+            while (bound < length && Character.isLetterOrDigit(text.charAt(bound))) {
+                bound++;
+            }
+            if (bound > bounds[count - 1] && bound < length) {
+                bounds[count++] = bound;
+            }
+        }
+        bounds[count++] = length;
+        return Arrays.copyOf(bounds, count);
+    }
+}
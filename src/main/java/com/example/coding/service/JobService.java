@@ -0,0 +1,383 @@
+package com.example.coding.service;
+
+import com.example.coding.model.JobStatus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Runs long DSA and stream computations off the request thread. Jobs wait in a bounded
+ * priority queue for a fixed pool of workers; submissions beyond {@code app.jobs.queue-capacity}
+ * are rejected rather than queued without limit. Finished jobs stay pollable for
+ * {@code app.jobs.retention}.
+ *
+ * <p>Cancelling a queued job removes it from the queue; one a worker has already taken off the
+ * queue is finished as cancelled when it would start. Cancelling a running job interrupts its
+ * worker: work reading a spooled input stops at its next read, CPU-only work runs to the end
+ * and its result is discarded.
+ */
+@Service
+public class JobService {
+
+    /** A job's computation; {@code progress} takes a fraction in [0, 1]. */
+    @FunctionalInterface
+    public interface Work {
+        Object run(DoubleConsumer progress) throws Exception;
+    }
+
+    /** A job's computation over its request body, spooled to a temporary file first. */
+    @FunctionalInterface
+    public interface ChannelWork {
+        Object run(SeekableByteChannel input) throws Exception;
+    }
+
+    public record Stats(int queued, int running, long rejected, long finished) {}
+
+    private static final Comparator<Job> QUEUE_ORDER =
+            Comparator.<Job, JobStatus.Priority>comparing(job -> job.priority).thenComparingLong(job -> job.sequence);
+
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    // one permit per waiting job, taken before the job (or its upload) exists and given back once it leaves the queue
+    private final Semaphore queueSlots;
+    private final Duration sseTimeout;
+    private final Map<String, Job> active = new ConcurrentHashMap<>();
+    private final Cache<String, Job> finished;
+    private final AtomicLong sequence = new AtomicLong();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder finishedCount = new LongAdder();
+
+    public JobService(@Value("${app.jobs.workers:2}") int workers,
+                      @Value("${app.jobs.queue-capacity:100}") int queueCapacity,
+                      @Value("${app.jobs.retention:10m}") Duration retention,
+                      @Value("${app.jobs.sse-timeout:10m}") Duration sseTimeout) {
+        AtomicInteger threads = new AtomicInteger();
+        // jobs are Comparable, so the queue orders them; execute() is used since submit() would wrap them
+        this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(),
+                runnable -> new Thread(runnable, "job-worker-" + threads.incrementAndGet())) {
+            @Override
+            protected void beforeExecute(Thread worker, Runnable job) {
+                beforeRun();
+            }
+        };
+        this.queueCapacity = queueCapacity;
+        this.queueSlots = new Semaphore(queueCapacity);
+        this.sseTimeout = sseTimeout;
+        this.finished = Caffeine.newBuilder()
+                .expireAfterWrite(retention)
+                .build();
+    }
+
+    /** @throws RejectedExecutionException if the queue already holds {@code app.jobs.queue-capacity} jobs */
+    public JobStatus submit(String kind, JobStatus.Priority priority, Work work) {
+        reserveSlot();
+        return enqueue(new Job(kind, priority, work, null));
+    }
+
+    /**
+     * Spools {@code body} to a temporary file, so the request can complete, then runs {@code work}
+     * over it with progress reported as the fraction of the file read. The file is deleted when
+     * the job finishes. The queue slot is reserved before the upload, so a full queue rejects
+     * the request without reading its body.
+     */
+    public JobStatus submit(String kind, JobStatus.Priority priority, InputStream body, ChannelWork work)
+            throws IOException {
+        reserveSlot();
+        Path spooled = null;
+        try {
+            spooled = Files.createTempFile("job-", ".in");
+            Files.copy(body, spooled, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException ex) {
+            queueSlots.release();
+            if (spooled != null) {
+                Files.deleteIfExists(spooled);
+            }
+            throw ex;
+        }
+        Path input = spooled;
+        return enqueue(new Job(kind, priority, progress -> {
+            try (TrackedChannel channel = TrackedChannel.open(input, progress)) {
+                return work.run(channel);
+            }
+        }, spooled));
+    }
+
+    /** @throws UnknownJobException if there is no such job, or it finished longer than the retention ago */
+    public JobStatus status(String id) {
+        return find(id).status();
+    }
+
+    public JobStatus cancel(String id) {
+        Job job = find(id);
+        boolean dequeued = false;
+        synchronized (job) {
+            if (job.state == JobStatus.State.QUEUED) {
+                dequeued = executor.remove(job);
+                if (dequeued) {
+                    job.leaveQueue();
+                } else {
+                    // a worker has taken it off the queue but not started it yet; run() sees this instead
+                    job.cancelRequested = true;
+                }
+            } else if (job.state == JobStatus.State.RUNNING) {
+                job.cancelRequested = true;
+                if (job.worker != null) {
+                    job.worker.interrupt();
+                }
+            }
+        }
+        if (dequeued) {
+            job.finish(JobStatus.State.CANCELLED, null, null);
+        }
+        return job.status();
+    }
+
+    /**
+     * Server-sent events for a job: its status now, a {@code progress} event every
+     * {@code app.jobs.progress-interval} while it runs, and a final {@code done} event carrying
+     * the result, after which the stream completes.
+     */
+    public SseEmitter subscribe(String id) {
+        Job job = find(id);
+        SseEmitter emitter = new SseEmitter(sseTimeout.toMillis());
+        emitter.onCompletion(() -> job.subscribers.remove(emitter));
+        emitter.onTimeout(() -> job.subscribers.remove(emitter));
+        emitter.onError(error -> job.subscribers.remove(emitter));
+        boolean done;
+        synchronized (job) {
+            done = job.state.isFinished();
+            if (!done) {
+                job.subscribers.add(emitter);
+            }
+        }
+        if (done) {
+            send(emitter, "done", job.status());
+            emitter.complete();
+        } else {
+            send(emitter, "status", job.status());
+        }
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${app.jobs.progress-interval:500ms}")
+    public void publishProgress() {
+        for (Job job : active.values()) {
+            if (job.state == JobStatus.State.RUNNING && !job.subscribers.isEmpty()) {
+                JobStatus status = job.status();
+                job.subscribers.forEach(emitter -> send(emitter, "progress", status));
+            }
+        }
+    }
+
+    public Stats stats() {
+        int running = executor.getActiveCount();
+        return new Stats(executor.getQueue().size(), running, rejected.sum(), finishedCount.sum());
+    }
+
+    // queued jobs never run, so they are finished here to delete their spool files and end their event streams
+    @PreDestroy
+    void shutdown() {
+        for (Runnable queued : executor.shutdownNow()) {
+            Job job = (Job) queued;
+            job.leaveQueue();
+            job.finish(JobStatus.State.CANCELLED, null, null);
+        }
+    }
+
+    // called on the worker between taking a job off the queue and running it; tests hold the worker here
+    void beforeRun() {
+    }
+
+    private void reserveSlot() {
+        if (!queueSlots.tryAcquire()) {
+            rejected.increment();
+            throw new RejectedExecutionException("Job queue is full (" + queueCapacity + " waiting)");
+        }
+    }
+
+    private JobStatus enqueue(Job job) {
+        active.put(job.id, job);
+        try {
+            executor.execute(job);
+        } catch (RejectedExecutionException ex) {
+            // shutting down
+            active.remove(job.id);
+            job.leaveQueue();
+            job.deleteSpooled();
+            throw ex;
+        }
+        return job.status();
+    }
+
+    private Job find(String id) {
+        Job job = active.get(id);
+        if (job == null) {
+            job = finished.getIfPresent(id);
+        }
+        if (job == null) {
+            throw new UnknownJobException(id);
+        }
+        return job;
+    }
+
+    private static void send(SseEmitter emitter, String name, JobStatus status) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(status, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException ex) {
+            // client went away or the emitter already completed
+            emitter.completeWithError(ex);
+        }
+    }
+
+    private final class Job implements Runnable, Comparable<Job> {
+
+        final String id = UUID.randomUUID().toString();
+        final String kind;
+        final JobStatus.Priority priority;
+        final long sequence = JobService.this.sequence.incrementAndGet();
+        final Instant submittedAt = Instant.now();
+        final Work work;
+        final Path spooled;
+        final List<SseEmitter> subscribers = new CopyOnWriteArrayList<>();
+
+        // state transitions happen under the job's monitor; reads for status() may be racy
+        volatile JobStatus.State state = JobStatus.State.QUEUED;
+        volatile double progress = Double.NaN;
+        volatile Instant startedAt;
+        volatile Instant finishedAt;
+        volatile Object result;
+        volatile String error;
+        volatile boolean cancelRequested;
+        Thread worker;
+        boolean holdsSlot = true;
+
+        Job(String kind, JobStatus.Priority priority, Work work, Path spooled) {
+            this.kind = kind;
+            this.priority = priority;
+            this.work = work;
+            this.spooled = spooled;
+        }
+
+        @Override
+        public void run() {
+            boolean cancelled;
+            synchronized (this) {
+                if (state != JobStatus.State.QUEUED) {
+                    return;
+                }
+                leaveQueue();
+                cancelled = cancelRequested;
+                if (!cancelled) {
+                    state = JobStatus.State.RUNNING;
+                    startedAt = Instant.now();
+                    worker = Thread.currentThread();
+                }
+            }
+            if (cancelled) {
+                finish(JobStatus.State.CANCELLED, null, null);
+                return;
+            }
+            try {
+                Object value = work.run(fraction -> progress = fraction);
+                finish(cancelRequested ? JobStatus.State.CANCELLED : JobStatus.State.SUCCEEDED, value, null);
+            } catch (Throwable ex) {
+                // any Error too, or the job would stay RUNNING with nobody left to finish it
+                finish(cancelRequested ? JobStatus.State.CANCELLED : JobStatus.State.FAILED, null, ex.toString());
+            } finally {
+                synchronized (this) {
+                    worker = null;
+                }
+                // a cancel that raced with completion must not leak into the next job on this worker
+                Thread.interrupted();
+            }
+        }
+
+        void finish(JobStatus.State outcome, Object value, String failure) {
+            List<SseEmitter> notify;
+            synchronized (this) {
+                state = outcome;
+                finishedAt = Instant.now();
+                if (outcome == JobStatus.State.SUCCEEDED) {
+                    result = value;
+                    progress = 1.0;
+                }
+                error = failure;
+                notify = List.copyOf(subscribers);
+                subscribers.clear();
+            }
+            finished.put(id, this);
+            active.remove(id);
+            finishedCount.increment();
+            JobStatus status = status();
+            for (SseEmitter emitter : notify) {
+                send(emitter, "done", status);
+                emitter.complete();
+            }
+            deleteSpooled();
+        }
+
+        // gives back the slot taken at submission, once, whichever way the job leaves the queue
+        void leaveQueue() {
+            synchronized (this) {
+                if (!holdsSlot) {
+                    return;
+                }
+                holdsSlot = false;
+            }
+            queueSlots.release();
+        }
+
+        // never throws: finish() must not fail after the job's outcome has been published
+        void deleteSpooled() {
+            if (spooled == null) {
+                return;
+            }
+            try {
+                Files.deleteIfExists(spooled);
+            } catch (IOException ex) {
+                spooled.toFile().deleteOnExit();
+            }
+        }
+
+        JobStatus status() {
+            double fraction = progress;
+            return new JobStatus(id, kind, priority, state, Double.isNaN(fraction) ? null : fraction,
+                    submittedAt, startedAt, finishedAt, result, error);
+        }
+
+        @Override
+        public int compareTo(Job other) {
+            return QUEUE_ORDER.compare(this, other);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.coding.service;
+
+import com.example.coding.model.NumericSummary;
+
+import java.math.BigInteger;
+
+/**
+ * Mutable fold state behind {@link NumericSummary}, usable as a parallel stream collector
+ * (accept + combine). Sums are exact {@code long}s that fail loudly on overflow; the sum of
+ * squares is kept as a 128-bit value in two longs, so it cannot overflow for any long input.
+ */
+public final class NumericAccumulator {
+
+    private long count;
+    private long sum;
+    private long evenSum;
+    private long squaresHigh;
+    private long squaresLow;
+    private long max = Long.MIN_VALUE;
+
+    public void accept(int value) {
+        accept((long) value);
+    }
+
+    public void accept(long value) {
+        count++;
+        sum = Math.addExact(sum, value);
+        if ((value & 1) == 0) {
+            evenSum = Math.addExact(evenSum, value);
+        }
+        addSquare(value * value, Math.multiplyHigh(value, value));
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    public void combine(NumericAccumulator other) {
+        count += other.count;
+        sum = Math.addExact(sum, other.sum);
+        evenSum = Math.addExact(evenSum, other.evenSum);
+        addSquare(other.squaresLow, other.squaresHigh);
+        max = Math.max(max, other.max);
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public NumericSummary toSummary() {
+        BigInteger low = BigInteger.valueOf(squaresLow & Long.MAX_VALUE);
+        if (squaresLow < 0) {
+            low = low.setBit(63);
+        }
+        BigInteger sumOfSquares = BigInteger.valueOf(squaresHigh).shiftLeft(64).or(low);
+        return new NumericSummary(count, sum, evenSum, sumOfSquares, count == 0 ? null : max);
+    }
+
+    // 128-bit add: low words unsigned with carry into the high word
+    private void addSquare(long low, long high) {
+        long newLow = squaresLow + low;
+        long carry = Long.compareUnsigned(newLow, squaresLow) < 0 ? 1 : 0;
+        squaresLow = newLow;
+        squaresHigh += high + carry;
+    }
+}
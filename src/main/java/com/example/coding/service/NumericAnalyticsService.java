@@ -0,0 +1,153 @@
+package com.example.coding.service;
+
+import com.example.coding.model.NumericSummary;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * Sum, even sum, sum of squares, max and count over primitive arrays in one pass. Arrays at or
+ * above the parallel threshold are split across the common fork-join pool.
+ */
+@Service
+public class NumericAnalyticsService {
+
+    public static final String INT32_LE_VALUE = "application/x-int32-le";
+    public static final String INT64_LE_VALUE = "application/x-int64-le";
+
+    /** Wire formats accepted by {@link #summarize(ReadableByteChannel, Encoding)}. */
+    public enum Encoding {
+        INT32_LE, INT64_LE, TEXT;
+
+        public static Encoding forContentType(String contentType) {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            if (mediaType.isCompatibleWith(MediaType.parseMediaType(INT32_LE_VALUE))) {
+                return INT32_LE;
+            }
+            if (mediaType.isCompatibleWith(MediaType.parseMediaType(INT64_LE_VALUE))) {
+                return INT64_LE;
+            }
+            if (mediaType.isCompatibleWith(MediaType.TEXT_PLAIN)) {
+                return TEXT;
+            }
+            throw new IllegalArgumentException("Unsupported numeric content type " + contentType);
+        }
+    }
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private final int parallelThreshold;
+
+    public NumericAnalyticsService(@Value("${app.streams.parallel-threshold:100000}") int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    public NumericSummary summarize(int[] values) {
+        NumericAccumulator accumulator;
+        if (values.length >= parallelThreshold) {
+            accumulator = IntStream.of(values).parallel()
+                    .collect(NumericAccumulator::new, NumericAccumulator::accept, NumericAccumulator::combine);
+        } else {
+            accumulator = new NumericAccumulator();
+            for (int value : values) {
+                accumulator.accept(value);
+            }
+        }
+        return accumulator.toSummary();
+    }
+
+    public NumericSummary summarize(long[] values) {
+        NumericAccumulator accumulator;
+        if (values.length >= parallelThreshold) {
+            accumulator = LongStream.of(values).parallel()
+                    .collect(NumericAccumulator::new, NumericAccumulator::accept, NumericAccumulator::combine);
+        } else {
+            accumulator = new NumericAccumulator();
+            for (long value : values) {
+                accumulator.accept(value);
+            }
+        }
+        return accumulator.toSummary();
+    }
+
+    /**
+     * Folds a stream of numbers into a summary as it is read, one small buffer at a time, so the
+     * input is never held in memory. Binary encodings are packed little-endian values; the text
+     * encoding is decimal numbers separated by newlines, whitespace or commas.
+     */
+    public NumericSummary summarize(ReadableByteChannel channel, Encoding encoding) throws IOException {
+        NumericAccumulator accumulator = new NumericAccumulator();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        if (encoding == Encoding.TEXT) {
+            foldText(channel, buffer, accumulator);
+        } else {
+            foldBinary(channel, buffer, accumulator, encoding == Encoding.INT32_LE ? Integer.BYTES : Long.BYTES);
+        }
+        return accumulator.toSummary();
+    }
+
+    private static void foldBinary(ReadableByteChannel channel, ByteBuffer buffer, NumericAccumulator accumulator,
+                                   int width) throws IOException {
+        while (channel.read(buffer) != -1) {
+            buffer.flip();
+            if (width == Integer.BYTES) {
+                while (buffer.remaining() >= Integer.BYTES) {
+                    accumulator.accept(buffer.getInt());
+                }
+            } else {
+                while (buffer.remaining() >= Long.BYTES) {
+                    accumulator.accept(buffer.getLong());
+                }
+            }
+            // a value split across reads stays at the front for the next one
+            buffer.compact();
+        }
+        if (buffer.position() != 0) {
+            throw new IllegalArgumentException("Input ends with a partial " + (width * 8) + "-bit value");
+        }
+    }
+
+    private static void foldText(ReadableByteChannel channel, ByteBuffer buffer, NumericAccumulator accumulator)
+            throws IOException {
+        long value = 0;
+        boolean negative = false;
+        boolean inNumber = false;
+        byte[] bytes = buffer.array();
+        while (channel.read(buffer) != -1) {
+            int length = buffer.position();
+            for (int i = 0; i < length; i++) {
+                byte b = bytes[i];
+                if (b >= '0' && b <= '9') {
+                    value = Math.addExact(Math.multiplyExact(value, 10), b - '0');
+                    inNumber = true;
+                } else if (b == '-' && !inNumber && !negative) {
+                    negative = true;
+                } else if (b == '\n' || b == '\r' || b == ' ' || b == '\t' || b == ',') {
+                    if (inNumber) {
+                        accumulator.accept(negative ? -value : value);
+                    } else if (negative) {
+                        throw new IllegalArgumentException("Dangling '-' in numeric text");
+                    }
+                    value = 0;
+                    negative = false;
+                    inNumber = false;
+                } else {
+                    throw new IllegalArgumentException("Unexpected byte 0x" + Integer.toHexString(b & 0xFF) + " in numeric text");
+                }
+            }
+            buffer.clear();
+        }
+        if (inNumber) {
+            accumulator.accept(negative ? -value : value);
+        } else if (negative) {
+            throw new IllegalArgumentException("Dangling '-' in numeric text");
+        }
+    }
+}
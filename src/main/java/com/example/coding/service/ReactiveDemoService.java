@@ -0,0 +1,193 @@
+package com.example.coding.service;
+
+import com.example.coding.model.DemoEpisode;
+import com.example.coding.model.DemoModel;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Non-blocking counterpart of {@link DemoServiceImpl} and {@link CharacterResolverService} over
+ * {@link WebClient}. It shares the upstream cache (and its in-flight coalescing), the stale
+ * fallback and the per-endpoint guard with the blocking stack; fetched rows are handed to the
+ * store's write-behind queue, but the store is never read here since JPA would block.
+ */
+@Service
+public class ReactiveDemoService {
+
+    // DataBuffers requested ahead of the parser
+    private static final int BODY_PREFETCH = 4;
+
+    private final WebClient webClient;
+    private final UpstreamCache upstreamCache;
+    private final UpstreamStore upstreamStore;
+    private final UpstreamGuard upstreamGuard;
+    private final EpisodeStreamDecoder episodeDecoder;
+    private final int batchSize;
+    private final int maxConcurrentBatches;
+    private final long deadlineMillis;
+
+    public ReactiveDemoService(WebClient webClient, UpstreamCache upstreamCache, UpstreamStore upstreamStore,
+                               UpstreamGuard upstreamGuard, EpisodeStreamDecoder episodeDecoder,
+                               @Value("${app.episode.batch-size:20}") int batchSize,
+                               @Value("${app.episode.max-concurrent-batches:4}") int maxConcurrentBatches,
+                               @Value("${app.episode.deadline-ms:3000}") long deadlineMillis) {
+        this.webClient = webClient;
+        this.upstreamCache = upstreamCache;
+        this.upstreamStore = upstreamStore;
+        this.upstreamGuard = upstreamGuard;
+        this.episodeDecoder = episodeDecoder;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxConcurrentBatches = Math.max(1, maxConcurrentBatches);
+        this.deadlineMillis = deadlineMillis;
+    }
+
+    public Mono<DemoModel> createDemo(DemoModel demo) {
+        return Mono.just(demo);
+    }
+
+    public Mono<DemoModel> fetchDemo(Integer id) {
+        return Mono.fromSupplier(() -> {
+            DemoModel model = new DemoModel();
+            model.setName("DEMO NAME");
+            return model;
+        });
+    }
+
+    // the cache future is shared with other callers, so a cancelled subscriber must not cancel it
+    public Mono<DemoModel> fetchDemoEpisode(Integer id) {
+        return Mono.fromFuture(() -> upstreamCache.getAsync(UpstreamCache.Resource.EPISODE, id,
+                        key -> upstreamGuard.call("episode", loadEpisode(key))
+                                .doOnNext(episode -> upstreamStore.offerEpisodes(List.of(episode)))
+                                .toFuture()), true)
+                .onErrorResume(ex -> staleOrError(UpstreamCache.Resource.EPISODE, id, ex));
+    }
+
+    public Mono<DemoEpisode> fetchDemoEpisodeName(Integer id) {
+        return Mono.fromFuture(() -> upstreamCache.getAsync(UpstreamCache.Resource.CHARACTER, id,
+                        key -> upstreamGuard.call("character", loadCharacter(key))
+                                .doOnNext(character -> upstreamStore.offerCharacters(List.of(character)))
+                                .toFuture()), true)
+                .onErrorResume(ex -> staleOrError(UpstreamCache.Resource.CHARACTER, id, ex));
+    }
+
+    // one upstream call for every id not already cached, via the multi-id endpoint /api/character/1,2,3
+    public Flux<DemoEpisode> fetchDemoEpisodeNames(List<Integer> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return Mono.fromFuture(() -> upstreamCache.getAllAsync(UpstreamCache.Resource.CHARACTER, ids,
+                        missing -> upstreamGuard.call("character", loadCharacters(missing))
+                                .doOnNext(characters -> upstreamStore.offerCharacters(characters.values()))
+                                .toFuture()), true)
+                .flatMapIterable(Map::values)
+                .onErrorResume(ex -> Flux.fromIterable(ids)
+                        .concatMap(id -> staleOrError(UpstreamCache.Resource.CHARACTER, id, ex)));
+    }
+
+    /** The episode with its character names resolved, as served by GET /api/episode/{id}. */
+    public Mono<DemoModel> episode(Integer id) {
+        return fetchDemoEpisode(id).flatMap(episodeInfo -> resolveNames(episodeInfo.getCharacterIds())
+                .map(names -> {
+                    // episodeInfo is shared through the upstream cache, so answer with a copy
+                    DemoModel response = new DemoModel();
+                    response.setName(episodeInfo.getName());
+                    response.setCharacters(names);
+                    return response;
+                }));
+    }
+
+    /**
+     * Returns the character names in the same order as {@code ids}. Batches for the multi-id
+     * endpoint are requested at most {@code app.episode.max-concurrent-batches} at a time and
+     * reassembled in order; the next batch is only requested once a slot frees up.
+     */
+    public Mono<List<String>> resolveNames(int[] ids) {
+        return Flux.fromStream(IntStream.of(ids).boxed())
+                .buffer(batchSize)
+                .flatMapSequential(batch -> fetchDemoEpisodeNames(batch)
+                        .collectMap(DemoEpisode::getId, DemoEpisode::getName)
+                        .map(names -> batch.stream().map(names::get).toList()), maxConcurrentBatches)
+                .<List<String>>collect(() -> new ArrayList<>(ids.length), List::addAll)
+                .timeout(Duration.ofMillis(deadlineMillis), Mono.error(
+                        () -> new TimeoutException("Character resolution exceeded " + deadlineMillis + " ms")));
+    }
+
+    // serve the last known value while the upstream is unavailable; client errors pass through
+    private <T> Mono<T> staleOrError(UpstreamCache.Resource resource, Integer id, Throwable ex) {
+        if (upstreamGuard.isUnavailable(ex)) {
+            T stale = upstreamCache.getStale(resource, id);
+            if (stale != null) {
+                return Mono.just(stale);
+            }
+        }
+        return Mono.error(ex);
+    }
+
+    // the body is streamed into the pull parser as it arrives, on a boundedElastic thread since the
+    // parser blocks on the next buffer; nothing is aggregated, so the codecs' in-memory limit does not apply
+    private Mono<DemoModel> loadEpisode(Integer id) {
+        return webClient.get()
+                .uri("/api/episode/{id}", id)
+                .retrieve()
+                .onStatus(HttpStatusCode::is4xxClientError, ReactiveDemoService::clientError)
+                .toEntityFlux(DataBuffer.class)
+                .flatMap(response -> Mono.fromCallable(() -> {
+                    try (InputStream body = DataBufferUtils.subscriberInputStream(response.getBody(), BODY_PREFETCH)) {
+                        return episodeDecoder.decodeEpisode(body);
+                    }
+                }).subscribeOn(Schedulers.boundedElastic()))
+                .onErrorMap(JsonProcessingException.class,
+                        ex -> new RestClientException("Malformed episode " + id + " from upstream", ex));
+    }
+
+    private Mono<DemoEpisode> loadCharacter(Integer id) {
+        return webClient.get()
+                .uri("/api/character/{id}", id)
+                .retrieve()
+                .onStatus(HttpStatusCode::is4xxClientError, ReactiveDemoService::clientError)
+                .bodyToMono(DemoEpisode.class);
+    }
+
+    private Mono<Map<Integer, DemoEpisode>> loadCharacters(List<Integer> ids) {
+        // the multi-id endpoint answers a single id with an object instead of an array
+        if (ids.size() == 1) {
+            return loadCharacter(ids.get(0)).map(character -> Map.of(character.getId(), character));
+        }
+        String joined = ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+        return webClient.get()
+                .uri("/api/character/{ids}", joined)
+                .retrieve()
+                .onStatus(HttpStatusCode::is4xxClientError, ReactiveDemoService::clientError)
+                .bodyToFlux(DemoEpisode.class)
+                .collectMap(DemoEpisode::getId);
+    }
+
+    // the same exception type RestClient raises, so the guard, the stale fallback and the error
+    // handlers treat both stacks alike
+    private static Mono<? extends Throwable> clientError(ClientResponse response) {
+        return response.bodyToMono(byte[].class)
+                .defaultIfEmpty(new byte[0])
+                .map(body -> HttpClientErrorException.create(response.statusCode(), response.statusCode().toString(),
+                        response.headers().asHttpHeaders(), body, null));
+    }
+}
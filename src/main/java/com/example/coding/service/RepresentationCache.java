@@ -0,0 +1,274 @@
+package com.example.coding.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized JSON bodies of /api GET responses, with a strong ETag taken from a hash of the bytes.
+ * Both are computed once per route and id, so a re-poll is answered without calling the service
+ * layer or serializing again, and a matching {@code If-None-Match} without sending the body.
+ *
+ * <p>Bodies of at least {@code app.http-cache.gzip-min-size} also get a gzip variant, compressed
+ * once, with an ETag of its own as a strong validator must differ per content coding. Tomcat's
+ * {@code server.compression} never compresses a response with a strong ETag, so it cannot do this.
+ *
+ * <p>A loader names the {@link UpstreamCache} entries its value was built from. The representation
+ * expires when the first of them does, and is dropped as soon as one of them is replaced or
+ * evicted. Values built from anything not freshly cached, e.g. a stale fallback during an outage,
+ * are represented but not kept, and so are values one of whose sources changed during the build;
+ * changes to any other upstream entry do not matter. Values with no upstream sources live for
+ * {@code app.cache.ttl-seconds}.
+ */
+@Service
+public class RepresentationCache {
+
+    /** A response body, its quoted strong ETag and its content coding (null for identity). */
+    public record Representation(String etag, byte[] body, String contentEncoding) {}
+
+    /** The identity body and, when it is large enough to be worth it, a gzipped copy. */
+    public record Variants(Representation identity, Representation gzip) {
+
+        /** The variant to send for an {@code Accept-Encoding} request header, which may be null. */
+        public Representation select(String acceptEncoding) {
+            return gzip != null && acceptsGzip(acceptEncoding) ? gzip : identity;
+        }
+
+        private static boolean acceptsGzip(String acceptEncoding) {
+            if (acceptEncoding == null) {
+                return false;
+            }
+            for (String coding : acceptEncoding.split(",")) {
+                String[] parts = coding.trim().split(";");
+                if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                    return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+                }
+            }
+            return false;
+        }
+    }
+
+    public record Stats(long hits, long misses, long size) {}
+
+    /** Collects the upstream cache entries a loader's value is built from; add each before reading it. */
+    @FunctionalInterface
+    public interface Sources {
+        void add(UpstreamCache.Resource resource, int... ids);
+    }
+
+    /** Builds the value to represent; may fail with the caller's checked exception, e.g. a fan-out timeout. */
+    @FunctionalInterface
+    public interface Loader<E extends Exception> {
+        Object load(Sources sources) throws E;
+    }
+
+    private record Key(String route, int id) {}
+
+    // one build of a representation; compared by identity, so builds of the same key are told apart
+    private static final class Build {
+        final Key key;
+
+        Build(Key key) {
+            this.key = key;
+        }
+    }
+
+    private record Entry(Variants variants, Build build, List<UpstreamCache.Key> sources, Duration lifetime) {}
+
+    private final ObjectMapper objectMapper;
+    private final UpstreamCache upstreamCache;
+    private final int gzipMinSize;
+    private final Duration ttl;
+    private final Cache<Key, Entry> cache;
+    // upstream key -> builds in flight or cached that read it; a change removes the key's whole set
+    private final ConcurrentMap<UpstreamCache.Key, Set<Build>> dependents = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @Autowired
+    public RepresentationCache(ObjectMapper objectMapper, UpstreamCache upstreamCache,
+                               @Value("${app.cache.maximum-size:10000}") long maximumSize,
+                               @Value("${app.cache.ttl-seconds:600}") long ttlSeconds,
+                               @Value("${app.http-cache.gzip-min-size:1KB}") DataSize gzipMinSize) {
+        this(objectMapper, upstreamCache, maximumSize, ttlSeconds, gzipMinSize, Ticker.systemTicker());
+    }
+
+    // tests pass the upstream cache's fake ticker
+    RepresentationCache(ObjectMapper objectMapper, UpstreamCache upstreamCache, long maximumSize, long ttlSeconds,
+                        DataSize gzipMinSize, Ticker ticker) {
+        this.objectMapper = objectMapper;
+        this.upstreamCache = upstreamCache;
+        this.gzipMinSize = (int) gzipMinSize.toBytes();
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.cache = Caffeine.newBuilder()
+                .ticker(ticker)
+                .maximumSize(maximumSize)
+                .expireAfter(Expiry.writing((Key key, Entry entry) -> entry.lifetime()))
+                .executor(Runnable::run)
+                .removalListener((Key key, Entry entry, RemovalCause cause) -> {
+                    if (entry != null) {
+                        entry.sources().forEach(source -> forget(source, entry.build()));
+                    }
+                })
+                .build();
+        upstreamCache.addInvalidationListener(this::upstreamChanged);
+    }
+
+    /**
+     * Returns the cached variants, or serializes what {@code loader} returns. Concurrent
+     * misses for one id may each serialize; the upstream loads behind them are already coalesced
+     * by {@link UpstreamCache}.
+     */
+    public <E extends Exception> Variants get(String route, int id, Loader<E> loader) throws E {
+        Key key = new Key(route, id);
+        Entry cached = cache.getIfPresent(key);
+        if (cached != null) {
+            hits.increment();
+            return cached.variants();
+        }
+        misses.increment();
+        Build build = new Build(key);
+        List<UpstreamCache.Key> sources = new ArrayList<>();
+        boolean kept = false;
+        try {
+            // registered before the loader reads them, so a change during the build drops this build too
+            Object value = loader.load((resource, ids) -> {
+                for (int sourceId : ids) {
+                    UpstreamCache.Key source = new UpstreamCache.Key(resource, sourceId);
+                    sources.add(source);
+                    dependents.compute(source, (upstreamKey, builds) -> {
+                        Set<Build> registered = builds == null ? ConcurrentHashMap.newKeySet() : builds;
+                        registered.add(build);
+                        return registered;
+                    });
+                }
+            });
+            Variants fresh = represent(value);
+            Duration lifetime = lifetime(sources);
+            // checked before the put as well, so a build already known stale does not replace a newer entry
+            if (lifetime != null && registered(sources, build)) {
+                Entry entry = new Entry(fresh, build, List.copyOf(sources), lifetime);
+                cache.put(key, entry);
+                kept = true;
+                // one of its sources changed during the build, possibly before the put could be invalidated
+                if (!registered(sources, build)) {
+                    cache.asMap().remove(key, entry);
+                }
+            }
+            return fresh;
+        } finally {
+            if (!kept) {
+                sources.forEach(source -> forget(source, build));
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), cache.estimatedSize());
+    }
+
+    // the shortest remaining TTL among the sources, or null if one of them is not freshly cached
+    private Duration lifetime(List<UpstreamCache.Key> sources) {
+        Duration lifetime = ttl;
+        for (UpstreamCache.Key source : sources) {
+            Duration remaining = upstreamCache.remainingTtl(source);
+            if (remaining == null || !remaining.isPositive()) {
+                return null;
+            }
+            if (remaining.compareTo(lifetime) < 0) {
+                lifetime = remaining;
+            }
+        }
+        return lifetime.isPositive() ? lifetime : null;
+    }
+
+    private void upstreamChanged(UpstreamCache.Key source) {
+        Set<Build> builds = dependents.remove(source);
+        if (builds != null) {
+            // only the entry of that build: a newer one for the same key was built from the new value
+            builds.forEach(build -> cache.asMap().computeIfPresent(build.key,
+                    (key, entry) -> entry.build() == build ? null : entry));
+        }
+    }
+
+    // whether no source has changed since the build registered it
+    private boolean registered(List<UpstreamCache.Key> sources, Build build) {
+        for (UpstreamCache.Key source : sources) {
+            Set<Build> builds = dependents.get(source);
+            if (builds == null || !builds.contains(build)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void forget(UpstreamCache.Key source, Build build) {
+        dependents.computeIfPresent(source, (upstreamKey, builds) -> {
+            builds.remove(build);
+            return builds.isEmpty() ? null : builds;
+        });
+    }
+
+    private Variants represent(Object value) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot serialize " + value.getClass().getSimpleName(), ex);
+        }
+        String hash = hash(body);
+        Representation identity = new Representation('"' + hash + '"', body, null);
+        if (body.length < gzipMinSize) {
+            return new Variants(identity, null);
+        }
+        return new Variants(identity, new Representation('"' + hash + "-gzip\"", gzip(body), "gzip"));
+    }
+
+    // 128 bits of the digest are plenty to tell versions of one resource apart
+    private static String hash(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return HexFormat.of().formatHex(Arrays.copyOf(digest, 16));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(body);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return compressed.toByteArray();
+    }
+}
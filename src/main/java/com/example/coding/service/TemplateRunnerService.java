@@ -1,36 +1,147 @@
 package com.example.coding.service;
 
 import com.example.coding.design.DsaCode;
-import com.example.coding.design.FactoryDSA;
+import com.example.coding.design.DsaRegistry;
+import com.example.coding.design.DsaResult;
+import com.example.coding.design.StreamingDsaCode;
+import com.example.coding.design.StreamingNotSupportedException;
+import com.example.coding.profiling.DsaExecutionEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.IntStream;
 
 @Service
 public class TemplateRunnerService {
 
-    public String runPalindrome(String input) {
-        StringBuilder sb = new StringBuilder();
-        // assume FactoryDSA returns a DsaCode with dsaChallenge that prints or returns;
-        // if it only prints via SingletonLogger, return that string instead — here's a safe wrapper approach:
-        DsaCode palindrome = FactoryDSA.getMethod("Palindrome");
-        // If dsaChallenge returns void and logs to SingletonLogger, we can call and return a small note:
-        palindrome.dsaChallenge(input);
-        sb.append("Ran Palindrome on: ").append(input).append(" (check application logs or logger output).");
-        return sb.toString();
+    private final String inputDir;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> dsaTimers = new ConcurrentHashMap<>();
+
+    public TemplateRunnerService(@Value("${app.dsa.input-dir:}") String inputDir, MeterRegistry meterRegistry) {
+        this.inputDir = inputDir;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public String runDsa(String name, String input) {
+        DsaCode code = DsaRegistry.getInstance().lookup(name);
+        Timer timer = dsaTimer(code, "memory");
+        DsaExecutionEvent event = new DsaExecutionEvent();
+        event.begin();
+        try {
+            if (input == null) {
+                return code.name() + " -> " + timer.record(() -> code.dsaChallenge()).describe();
+            }
+            DsaResult result = timer.record(() -> code.dsaChallenge(input));
+            return code.name() + " on: " + input + " -> " + result.describe();
+        } finally {
+            commit(event, code, "memory", input == null ? -1 : input.length());
+        }
+    }
+
+    public String runDsaStream(String name, ReadableByteChannel channel) throws IOException {
+        DsaCode code = DsaRegistry.getInstance().lookup(name);
+        if (!(code instanceof StreamingDsaCode streaming)) {
+            throw new StreamingNotSupportedException(code.name());
+        }
+        DsaExecutionEvent event = new DsaExecutionEvent();
+        event.begin();
+        // bytes are only counted while a recording is listening; seekable channels know their size
+        CountingChannel counted = event.isEnabled() && !(channel instanceof SeekableByteChannel)
+                ? new CountingChannel(channel) : null;
+        long size = event.isEnabled() && channel instanceof SeekableByteChannel seekable ? seekable.size() : -1;
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return code.name() + " on streamed input -> "
+                    + streaming.dsaChallenge(counted == null ? channel : counted).describe();
+        } finally {
+            sample.stop(dsaTimer(code, "stream"));
+            commit(event, code, "stream", counted == null ? size : counted.bytes);
+        }
+    }
+
+    private static void commit(DsaExecutionEvent event, DsaCode code, String mode, long inputSize) {
+        if (event.shouldCommit()) {
+            event.algorithm = code.name();
+            event.mode = mode;
+            event.inputSize = inputSize;
+            event.commit();
+        }
+    }
+
+    private static final class CountingChannel implements ReadableByteChannel {
+
+        private final ReadableByteChannel delegate;
+        private long bytes;
+
+        CountingChannel(ReadableByteChannel delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            int n = delegate.read(dst);
+            if (n > 0) {
+                bytes += n;
+            }
+            return n;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return delegate.isOpen();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+
+    // file input is confined to app.dsa.input-dir and disabled when that is blank
+    public String runDsaFile(String name, String file) throws IOException {
+        if (inputDir.isBlank()) {
+            throw new IllegalStateException("File input is disabled; set app.dsa.input-dir");
+        }
+        // real paths, so a symlink inside the directory cannot point outside it
+        Path base = Path.of(inputDir).toRealPath();
+        Path path = base.resolve(file).toRealPath();
+        if (!path.startsWith(base)) {
+            throw new IllegalArgumentException("File must be inside " + base);
+        }
+        if (!Files.isRegularFile(path)) {
+            throw new IllegalArgumentException("Not a regular file: " + file);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return runDsaStream(name, channel);
+        }
     }
 
-    public String runArrayNonZero() {
-        DsaCode arrayNonZero = FactoryDSA.getMethod("ArrayNonZero");
-        arrayNonZero.dsaChallenge();
-        return "Ran ArrayNonZero (check logs or logger output).";
+    private Timer dsaTimer(DsaCode code, String mode) {
+        return dsaTimers.computeIfAbsent(code.name() + '/' + mode, key -> Timer.builder("dsa.execution")
+                .description("DsaCode run time per algorithm")
+                .tag("algorithm", code.name())
+                .tag("mode", mode)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
     }
 
-    public String runLongSubString(String input) {
-        DsaCode longSubString = FactoryDSA.getMethod("LongSubString");
-        longSubString.dsaChallenge(input);
-        return "Ran LongSubString on: " + input + " (check logs).";
+    public Set<String> dsaNames() {
+        return DsaRegistry.getInstance().names();
     }
 
     // Streams examples returning human readable output
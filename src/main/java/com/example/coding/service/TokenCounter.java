@@ -0,0 +1,115 @@
+package com.example.coding.service;
+
+import com.example.coding.model.FrequencyEntry;
+
+import java.util.List;
+
+/**
+ * Token frequencies in an open-addressing (linear probing) table of parallel arrays:
+ * keys, cached hashes and primitive counts. A token is matched against the source text in
+ * place, so a String is only created the first time a token is seen.
+ */
+public final class TokenCounter {
+
+    private String[] keys;
+    private int[] hashes;
+    private long[] counts;
+    private int size;
+
+    public TokenCounter() {
+        this(64);
+    }
+
+    public TokenCounter(int expectedTokens) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedTokens * 2) - 1) << 1;
+        keys = new String[capacity];
+        hashes = new int[capacity];
+        counts = new long[capacity];
+    }
+
+    /** Counts one occurrence of {@code text[start, end)}. */
+    public void increment(String text, int start, int end) {
+        add(text, start, end, hash(text, start, end), 1);
+    }
+
+    public void merge(TokenCounter other) {
+        for (int slot = 0; slot < other.keys.length; slot++) {
+            String key = other.keys[slot];
+            if (key != null) {
+                add(key, 0, key.length(), other.hashes[slot], other.counts[slot]);
+            }
+        }
+    }
+
+    public long get(String token) {
+        int hash = hash(token, 0, token.length());
+        int mask = keys.length - 1;
+        for (int slot = hash & mask; keys[slot] != null; slot = (slot + 1) & mask) {
+            if (hashes[slot] == hash && keys[slot].equals(token)) {
+                return counts[slot];
+            }
+        }
+        return 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public List<FrequencyEntry> top(int k) {
+        return TopK.select(counts, k, slot -> keys[slot]);
+    }
+
+    private void add(String text, int start, int end, int hash, long delta) {
+        int length = end - start;
+        int mask = keys.length - 1;
+        int slot = hash & mask;
+        for (;;) {
+            String key = keys[slot];
+            if (key == null) {
+                keys[slot] = text.substring(start, end);
+                hashes[slot] = hash;
+                counts[slot] = delta;
+                if (++size * 2 > keys.length) {
+                    resize();
+                }
+                return;
+            }
+            if (hashes[slot] == hash && key.length() == length && key.regionMatches(0, text, start, length)) {
+                counts[slot] += delta;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void resize() {
+        String[] oldKeys = keys;
+        int[] oldHashes = hashes;
+        long[] oldCounts = counts;
+        keys = new String[oldKeys.length * 2];
+        hashes = new int[keys.length];
+        counts = new long[keys.length];
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int slot = oldHashes[i] & mask;
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                hashes[slot] = oldHashes[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+
+    // String.hashCode over a range, with the high bits folded in for the power-of-two table
+    private static int hash(String text, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + text.charAt(i);
+        }
+        return h ^ (h >>> 16);
+    }
+}
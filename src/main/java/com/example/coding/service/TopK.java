@@ -0,0 +1,75 @@
+package com.example.coding.service;
+
+import com.example.coding.model.FrequencyEntry;
+
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Top-K selection over a dense count table with a k-sized min-heap of slot indices,
+ * so only the k winners are ever turned into objects.
+ */
+final class TopK {
+
+    private TopK() {
+    }
+
+    /** Highest counts first; slots with a count of zero are ignored. */
+    static List<FrequencyEntry> select(long[] counts, int k, IntFunction<String> keyAt) {
+        int[] heap = new int[Math.max(0, Math.min(k, counts.length))];
+        int size = 0;
+        for (int slot = 0; slot < counts.length && heap.length > 0; slot++) {
+            if (counts[slot] == 0) {
+                continue;
+            }
+            if (size < heap.length) {
+                heap[size] = slot;
+                siftUp(heap, size++, counts);
+            } else if (counts[slot] > counts[heap[0]]) {
+                heap[0] = slot;
+                siftDown(heap, size, counts);
+            }
+        }
+
+        FrequencyEntry[] ordered = new FrequencyEntry[size];
+        for (int i = size - 1; i >= 0; i--) {
+            int slot = heap[0];
+            ordered[i] = new FrequencyEntry(keyAt.apply(slot), counts[slot]);
+            heap[0] = heap[i];
+            siftDown(heap, i, counts);
+        }
+        return List.of(ordered);
+    }
+
+    private static void siftUp(int[] heap, int index, long[] counts) {
+        int slot = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (counts[heap[parent]] <= counts[slot]) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = slot;
+    }
+
+    private static void siftDown(int[] heap, int size, long[] counts) {
+        if (size == 0) {
+            return;
+        }
+        int index = 0;
+        int slot = heap[0];
+        for (int child = 1; child < size; child = 2 * index + 1) {
+            if (child + 1 < size && counts[heap[child + 1]] < counts[heap[child]]) {
+                child++;
+            }
+            if (counts[slot] <= counts[heap[child]]) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = slot;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.coding.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Read-only view of a spooled job input that reports bytes read as a fraction of the file size.
+ * It stays seekable so inputs like Palindrome's two-ended scan still avoid a second spool, and
+ * being a FileChannel underneath, interrupting the reading thread closes it, which is how a
+ * running job is cancelled.
+ */
+final class TrackedChannel implements SeekableByteChannel {
+
+    private final FileChannel delegate;
+    private final long size;
+    private final DoubleConsumer progress;
+    private long bytesRead;
+
+    private TrackedChannel(FileChannel delegate, DoubleConsumer progress) throws IOException {
+        this.delegate = delegate;
+        this.size = delegate.size();
+        this.progress = progress;
+    }
+
+    static TrackedChannel open(Path file, DoubleConsumer progress) throws IOException {
+        return new TrackedChannel(FileChannel.open(file, StandardOpenOption.READ), progress);
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        int read = delegate.read(dst);
+        if (read > 0) {
+            bytesRead += read;
+            progress.accept(size == 0 ? 1.0 : Math.min(1.0, (double) bytesRead / size));
+        }
+        return read;
+    }
+
+    @Override
+    public int write(ByteBuffer src) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public long position() throws IOException {
+        return delegate.position();
+    }
+
+    @Override
+    public SeekableByteChannel position(long newPosition) throws IOException {
+        delegate.position(newPosition);
+        return this;
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public SeekableByteChannel truncate(long size) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public boolean isOpen() {
+        return delegate.isOpen();
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+}
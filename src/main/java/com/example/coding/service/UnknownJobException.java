@@ -0,0 +1,11 @@
+package com.example.coding.service;
+
+import java.util.NoSuchElementException;
+
+/** Thrown by {@link JobService} for an id that never existed or has left the retention window; answered with 404. */
+public class UnknownJobException extends NoSuchElementException {
+
+    public UnknownJobException(String id) {
+        super("No job " + id);
+    }
+}
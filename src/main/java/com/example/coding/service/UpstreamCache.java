@@ -0,0 +1,357 @@
+package com.example.coding.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Size-bounded, TTL-evicting cache for upstream responses, keyed by resource type and id.
+ * Eviction is Caffeine's W-TinyLFU. Concurrent misses for the same key share one in-flight
+ * load: the first caller fetches on its own thread, everyone else waits on its future.
+ *
+ * <p>Every successful load is also copied into a longer-lived stale tier, which is only read
+ * through {@link #getStale} when the upstream is unavailable. A loader returning null means the
+ * id does not exist upstream: nothing is cached and every waiting caller gets an
+ * {@link UpstreamNotFoundException}.
+ *
+ * <p>Whenever a cached value is replaced, expires or is evicted, the invalidation listeners
+ * are told its key, so anything derived from it (see {@link RepresentationCache}) can follow.
+ */
+@Component
+public class UpstreamCache {
+
+    public enum Resource { EPISODE, CHARACTER }
+
+    record Key(Resource resource, int id) {}
+
+    public record Stats(long hits, long misses, long coalesced, long evictions, long size) {}
+
+    private final AsyncCache<Key, Object> cache;
+    private final ConcurrentMap<Key, CompletableFuture<Object>> entries;
+    private final Cache<Key, Object> stale;
+    private final List<Consumer<Key>> invalidationListeners = new CopyOnWriteArrayList<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Autowired
+    public UpstreamCache(@Value("${app.cache.maximum-size:10000}") long maximumSize,
+                         @Value("${app.cache.ttl-seconds:600}") long ttlSeconds,
+                         @Value("${app.cache.stale-ttl-seconds:86400}") long staleTtlSeconds) {
+        this(maximumSize, ttlSeconds, staleTtlSeconds, Ticker.systemTicker());
+    }
+
+    // tests pass a fake ticker to step past the TTL
+    UpstreamCache(long maximumSize, long ttlSeconds, long staleTtlSeconds, Ticker ticker) {
+        this.cache = Caffeine.newBuilder()
+                .ticker(ticker)
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                // listeners run on the thread that replaced or evicted the value, not some time later
+                .executor(Runnable::run)
+                .removalListener((Key key, Object value, RemovalCause cause) -> {
+                    if (cause.wasEvicted()) {
+                        evictions.increment();
+                    }
+                    // null for a failed or unfinished load, which nothing can have been derived from;
+                    // a value renewed in place has not changed either
+                    if (value != null && !(cause == RemovalCause.REPLACED && value == current(key))) {
+                        invalidationListeners.forEach(listener -> listener.accept(key));
+                    }
+                })
+                .buildAsync();
+        this.entries = cache.asMap();
+        this.stale = Caffeine.newBuilder()
+                .ticker(ticker)
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(staleTtlSeconds))
+                .build();
+    }
+
+    /** Returns the cached value, or loads it on the calling thread when absent. */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Resource resource, Integer id, Function<Integer, T> loader) {
+        Key key = new Key(resource, id);
+        CompletableFuture<Object> existing = entries.get(key);
+        if (existing != null) {
+            hits.increment();
+            return (T) join(existing);
+        }
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        existing = entries.putIfAbsent(key, mine);
+        if (existing != null) {
+            coalesced.increment();
+            return (T) join(existing);
+        }
+        misses.increment();
+        try {
+            T value = loader.apply(id);
+            if (value == null) {
+                throw new UpstreamNotFoundException(resource, id);
+            }
+            mine.complete(value);
+            stale.put(key, value);
+            return value;
+        } catch (Throwable ex) {
+            // Errors too: an entry left incomplete would block every later caller in join()
+            mine.completeExceptionally(ex);
+            entries.remove(key, mine);
+            throw ex;
+        }
+    }
+
+    /**
+     * Bulk variant of {@link #get}: every id not already cached or in flight is handed to
+     * {@code loader} in a single call. Results are returned in the order of {@code ids}.
+     */
+    public <T> Map<Integer, T> getAll(Resource resource, List<Integer> ids,
+                                      Function<List<Integer>, Map<Integer, T>> loader) {
+        Claim claim = claim(resource, ids);
+        if (!claim.owned().isEmpty()) {
+            try {
+                complete(resource, claim.owned(), loader.apply(new ArrayList<>(claim.owned().keySet())));
+            } catch (Throwable ex) {
+                fail(resource, claim.owned(), ex);
+                throw ex;
+            }
+        }
+        return collect(claim.futures());
+    }
+
+    /**
+     * Non-blocking variant of {@link #get} for reactive callers, sharing the same entries and
+     * in-flight coalescing: {@code loader} is only invoked when no load for the key is running.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> getAsync(Resource resource, Integer id,
+                                             Function<Integer, CompletableFuture<T>> loader) {
+        Key key = new Key(resource, id);
+        CompletableFuture<Object> existing = entries.get(key);
+        if (existing != null) {
+            hits.increment();
+            return (CompletableFuture<T>) existing;
+        }
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        existing = entries.putIfAbsent(key, mine);
+        if (existing != null) {
+            coalesced.increment();
+            return (CompletableFuture<T>) existing;
+        }
+        misses.increment();
+        CompletableFuture<T> load;
+        try {
+            load = loader.apply(id);
+        } catch (RuntimeException ex) {
+            load = CompletableFuture.failedFuture(ex);
+        } catch (Error ex) {
+            mine.completeExceptionally(ex);
+            entries.remove(key, mine);
+            throw ex;
+        }
+        load.whenComplete((value, error) -> {
+            if (error == null && value == null) {
+                mine.completeExceptionally(new UpstreamNotFoundException(resource, id));
+                entries.remove(key, mine);
+            } else if (error == null) {
+                mine.complete(value);
+                stale.put(key, value);
+            } else {
+                mine.completeExceptionally(error);
+                entries.remove(key, mine);
+            }
+        });
+        return (CompletableFuture<T>) mine;
+    }
+
+    /** Non-blocking variant of {@link #getAll}. */
+    public <T> CompletableFuture<Map<Integer, T>> getAllAsync(Resource resource, List<Integer> ids,
+                                                              Function<List<Integer>, CompletableFuture<Map<Integer, T>>> loader) {
+        Claim claim = claim(resource, ids);
+        if (!claim.owned().isEmpty()) {
+            CompletableFuture<Map<Integer, T>> load;
+            try {
+                load = loader.apply(new ArrayList<>(claim.owned().keySet()));
+            } catch (RuntimeException ex) {
+                load = CompletableFuture.failedFuture(ex);
+            } catch (Error ex) {
+                fail(resource, claim.owned(), ex);
+                throw ex;
+            }
+            load.whenComplete((loaded, error) -> {
+                if (error == null) {
+                    complete(resource, claim.owned(), loaded);
+                } else {
+                    fail(resource, claim.owned(), error);
+                }
+            });
+        }
+        return CompletableFuture.allOf(claim.futures().values().toArray(CompletableFuture[]::new))
+                .thenApply(done -> collect(claim.futures()));
+    }
+
+    // per id: the future to wait on, and the subset of those this caller must load
+    private record Claim(Map<Integer, CompletableFuture<Object>> futures,
+                         Map<Integer, CompletableFuture<Object>> owned) {}
+
+    private Claim claim(Resource resource, List<Integer> ids) {
+        Map<Integer, CompletableFuture<Object>> futures = new LinkedHashMap<>();
+        Map<Integer, CompletableFuture<Object>> owned = new LinkedHashMap<>();
+        for (Integer id : ids) {
+            if (futures.containsKey(id)) {
+                continue;
+            }
+            Key key = new Key(resource, id);
+            CompletableFuture<Object> existing = entries.get(key);
+            if (existing != null) {
+                hits.increment();
+            } else {
+                CompletableFuture<Object> mine = new CompletableFuture<>();
+                existing = entries.putIfAbsent(key, mine);
+                if (existing != null) {
+                    coalesced.increment();
+                } else {
+                    misses.increment();
+                    owned.put(id, mine);
+                    existing = mine;
+                }
+            }
+            futures.put(id, existing);
+        }
+        return new Claim(futures, owned);
+    }
+
+    private <T> void complete(Resource resource, Map<Integer, CompletableFuture<Object>> owned, Map<Integer, T> loaded) {
+        owned.forEach((id, future) -> {
+            T value = loaded == null ? null : loaded.get(id);
+            if (value != null) {
+                future.complete(value);
+                stale.put(new Key(resource, id), value);
+            } else {
+                future.completeExceptionally(new UpstreamNotFoundException(resource, id));
+                entries.remove(new Key(resource, id), future);
+            }
+        });
+    }
+
+    private void fail(Resource resource, Map<Integer, CompletableFuture<Object>> owned, Throwable error) {
+        owned.forEach((id, future) -> {
+            future.completeExceptionally(error);
+            entries.remove(new Key(resource, id), future);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Map<Integer, T> collect(Map<Integer, CompletableFuture<Object>> futures) {
+        Map<Integer, T> result = new LinkedHashMap<>();
+        futures.forEach((id, future) -> result.put(id, (T) join(future)));
+        return result;
+    }
+
+    /**
+     * Caches a value fetched outside {@link #get}, e.g. by the catalog warm-up, replacing any entry.
+     * A null value, i.e. nothing upstream, only drops the fresh entry so the next get asks again.
+     */
+    public <T> void put(Resource resource, Integer id, T value) {
+        Key key = new Key(resource, id);
+        if (value == null) {
+            entries.remove(key);
+            return;
+        }
+        entries.put(key, CompletableFuture.completedFuture(value));
+        stale.put(key, value);
+    }
+
+    /**
+     * Caches the last loaded value of each id again, restarting its TTL, for ids the upstream has
+     * confirmed unchanged (e.g. with a 304). Ids with a load in flight are left alone. Returns false
+     * if any id has left the stale tier as well, in which case the caller has to fetch it again.
+     */
+    public boolean renew(Resource resource, Collection<Integer> ids) {
+        boolean renewed = true;
+        for (Integer id : ids) {
+            Key key = new Key(resource, id);
+            Object value = stale.getIfPresent(key);
+            if (value == null) {
+                renewed = false;
+            } else {
+                CompletableFuture<Object> current = entries.get(key);
+                if (current == null || current.isDone()) {
+                    entries.put(key, CompletableFuture.completedFuture(value));
+                    stale.put(key, value);
+                }
+            }
+        }
+        return renewed;
+    }
+
+    /** Last successfully loaded value, possibly past its TTL, or null if there never was one. */
+    @SuppressWarnings("unchecked")
+    public <T> T getStale(Resource resource, Integer id) {
+        return (T) stale.getIfPresent(new Key(resource, id));
+    }
+
+    /** Registers a listener for keys whose cached value was replaced, expired or evicted. */
+    void addInvalidationListener(Consumer<Key> listener) {
+        invalidationListeners.add(listener);
+    }
+
+    /**
+     * How much longer the value cached for {@code key} stays fresh, or null unless a completed
+     * load is cached; a value only found through {@link #getStale} is not.
+     */
+    Duration remainingTtl(Key key) {
+        CompletableFuture<Object> future = entries.get(key);
+        if (future == null || !future.isDone() || future.isCompletedExceptionally()) {
+            return null;
+        }
+        return cache.synchronous().policy().expireAfterWrite()
+                .flatMap(expiration -> expiration.ageOf(key).map(age -> expiration.getExpiresAfter().minus(age)))
+                .orElse(null);
+    }
+
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), coalesced.sum(), evictions.sum(),
+                cache.synchronous().estimatedSize());
+    }
+
+    // the value now cached for the key, or null while there is none or it is still loading
+    private Object current(Key key) {
+        CompletableFuture<Object> future = entries.get(key);
+        return future != null && future.isDone() && !future.isCompletedExceptionally() ? future.join() : null;
+    }
+
+    private static Object join(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.coding.service;
+
+import com.example.coding.config.UpstreamResilienceProperties;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Wraps idempotent upstream GETs, per named endpoint, in
+ * circuit breaker → optional hedge → bulkhead. The circuit breaker fails fast while the
+ * upstream is unhealthy; each attempt, hedged or not, takes a bulkhead permit so hedging cannot
+ * exceed the endpoint's concurrency limit.
+ */
+@Component
+@EnableConfigurationProperties(UpstreamResilienceProperties.class)
+public class UpstreamGuard {
+
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final BulkheadRegistry bulkheads;
+    private final UpstreamResilienceProperties properties;
+    private final ExecutorService hedgeExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public UpstreamGuard(CircuitBreakerRegistry circuitBreakers, BulkheadRegistry bulkheads,
+                         UpstreamResilienceProperties properties) {
+        this.circuitBreakers = circuitBreakers;
+        this.bulkheads = bulkheads;
+        this.properties = properties;
+    }
+
+    public <T> T call(String endpoint, Supplier<T> request) {
+        CircuitBreaker circuitBreaker = circuitBreakers.circuitBreaker(endpoint);
+        Supplier<T> attempt = Bulkhead.decorateSupplier(bulkheads.bulkhead(endpoint), request);
+        Duration hedgeDelay = properties.hedgeDelay().get(endpoint);
+        if (hedgeDelay == null || hedgeDelay.isZero() || hedgeDelay.isNegative()) {
+            return circuitBreaker.executeSupplier(attempt);
+        }
+        return circuitBreaker.executeSupplier(() -> hedged(attempt, hedgeDelay));
+    }
+
+    /**
+     * Reactive counterpart of {@link #call} for WebClient requests, sharing the same circuit
+     * breaker, bulkhead and hedge delay per endpoint. The hedge races a second subscription to
+     * {@code request}; whichever emits a value first wins and the other is cancelled, which
+     * aborts its exchange.
+     */
+    public <T> Mono<T> call(String endpoint, Mono<T> request) {
+        Mono<T> attempt = request.transformDeferred(BulkheadOperator.of(bulkheads.bulkhead(endpoint)));
+        Duration hedgeDelay = properties.hedgeDelay().get(endpoint);
+        if (hedgeDelay != null && !hedgeDelay.isZero() && !hedgeDelay.isNegative()) {
+            attempt = Mono.firstWithValue(attempt, Mono.delay(hedgeDelay).then(attempt))
+                    .onErrorMap(NoSuchElementException.class, UpstreamGuard::firstRaceError);
+        }
+        return attempt.transformDeferred(CircuitBreakerOperator.of(circuitBreakers.circuitBreaker(endpoint)));
+    }
+
+    /**
+     * Whether a failure means the upstream is unavailable, as opposed to the upstream answering
+     * that the resource does not exist, the request was bad or the payload could not be decoded.
+     * Only transport errors, 5xx answers, timeouts and circuit breaker or bulkhead rejections count;
+     * only those may be answered from stale data.
+     */
+    public boolean isUnavailable(Throwable ex) {
+        Throwable error = ex;
+        while ((error instanceof CompletionException || error instanceof ExecutionException) && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error instanceof ResourceAccessException
+                || error instanceof HttpServerErrorException
+                || error instanceof WebClientRequestException
+                || error instanceof WebClientResponseException response && response.getStatusCode().is5xxServerError()
+                || error instanceof CallNotPermittedException
+                || error instanceof BulkheadFullException
+                || error instanceof TimeoutException;
+    }
+
+    /**
+     * Runs the attempt, and a second one if the first has not finished after {@code hedgeDelay}.
+     * Attempts are plain futures so the loser can be interrupted: on a virtual thread that aborts
+     * its blocking exchange, and its bulkhead permit comes back now instead of at the read timeout.
+     */
+    private <T> T hedged(Supplier<T> attempt, Duration hedgeDelay) {
+        CompletionService<T> race = new ExecutorCompletionService<>(hedgeExecutor);
+        List<Future<T>> attempts = new ArrayList<>(2);
+        attempts.add(race.submit(attempt::get));
+        try {
+            Future<T> done = race.poll(hedgeDelay.toNanos(), TimeUnit.NANOSECONDS);
+            if (done == null) {
+                attempts.add(race.submit(attempt::get));
+            }
+            ExecutionException failure = null;
+            for (int pending = attempts.size(); pending > 0; pending--) {
+                if (done == null) {
+                    done = race.take();
+                }
+                try {
+                    return done.get();
+                } catch (ExecutionException ex) {
+                    failure = ex;
+                }
+                done = null;
+            }
+            throw unwrap(failure.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for upstream");
+        } finally {
+            attempts.forEach(future -> future.cancel(true));
+        }
+    }
+
+    // firstWithValue reports "every attempt failed" as NoSuchElementException, which would read as a 404
+    private static Throwable firstRaceError(NoSuchElementException ex) {
+        if (ex.getCause() == null) {
+            return ex;
+        }
+        for (Throwable error : Exceptions.unwrapMultiple(ex.getCause())) {
+            if (error != null) {
+                return error;
+            }
+        }
+        return ex;
+    }
+
+    private static RuntimeException unwrap(Throwable error) {
+        while (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        if (error instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        return new IllegalStateException(error);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.coding.service;
+
+import java.util.NoSuchElementException;
+
+/** Thrown by {@link UpstreamCache} when a loader finds nothing upstream for an id; never cached, answered with 404. */
+public class UpstreamNotFoundException extends NoSuchElementException {
+
+    public UpstreamNotFoundException(UpstreamCache.Resource resource, Integer id) {
+        super(resource + " " + id + " not found upstream");
+    }
+}
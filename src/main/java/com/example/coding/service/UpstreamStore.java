@@ -0,0 +1,200 @@
+package com.example.coding.service;
+
+import com.example.coding.design.SingletonLogger;
+import com.example.coding.model.DemoEpisode;
+import com.example.coding.model.DemoModel;
+import com.example.coding.repository.CharacterRepository;
+import com.example.coding.repository.DemoRrepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Persistable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Local database tier behind {@link UpstreamCache}: reads go to the database first and to the
+ * upstream only on a miss. Rows fetched from the upstream are queued and written behind in
+ * batches by {@link #flush()}, so a request never waits on an insert.
+ *
+ * <p>The database is an optimization, never a dependency: read failures fall through to the
+ * upstream, and rows that do not fit in the write queue are simply fetched again next time.
+ */
+@Component
+public class UpstreamStore {
+
+    public record Stats(long hits, long misses, long written, long dropped, int pending) {}
+
+    private final DemoRrepository episodes;
+    private final CharacterRepository characters;
+    private final SingletonLogger logger;
+    private final boolean enabled;
+    private final int batchSize;
+
+    private final BlockingQueue<DemoModel> pendingEpisodes;
+    private final BlockingQueue<DemoEpisode> pendingCharacters;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public UpstreamStore(DemoRrepository episodes, CharacterRepository characters, SingletonLogger logger,
+                         @Value("${app.store.enabled:false}") boolean enabled,
+                         @Value("${app.store.batch-size:100}") int batchSize,
+                         @Value("${app.store.queue-capacity:10000}") int queueCapacity) {
+        this.episodes = episodes;
+        this.characters = characters;
+        this.logger = logger;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.pendingEpisodes = new ArrayBlockingQueue<>(queueCapacity);
+        this.pendingCharacters = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    public DemoModel episode(Integer id, Function<Integer, DemoModel> upstream) {
+        return readThrough(episodes, pendingEpisodes, id, upstream);
+    }
+
+    public DemoEpisode character(Integer id, Function<Integer, DemoEpisode> upstream) {
+        return readThrough(characters, pendingCharacters, id, upstream);
+    }
+
+    /** Bulk variant of {@link #character}: one query for all ids, one upstream call for the rest. */
+    public Map<Integer, DemoEpisode> characters(List<Integer> ids,
+                                                Function<List<Integer>, Map<Integer, DemoEpisode>> upstream) {
+        if (!enabled) {
+            return upstream.apply(ids);
+        }
+        Map<Integer, DemoEpisode> found = new LinkedHashMap<>();
+        for (DemoEpisode character : read(() -> characters.findAllById(ids), List.<DemoEpisode>of())) {
+            found.put(character.getId(), character);
+        }
+        hits.add(found.size());
+        List<Integer> missing = new ArrayList<>(ids.size() - found.size());
+        for (Integer id : ids) {
+            if (!found.containsKey(id)) {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            misses.add(missing.size());
+            Map<Integer, DemoEpisode> loaded = upstream.apply(missing);
+            loaded.values().forEach(character -> enqueue(pendingCharacters, character));
+            found.putAll(loaded);
+        }
+        return found;
+    }
+
+    /** Queues rows fetched outside a read-through, e.g. by the catalog warm-up, for write-behind. */
+    public void offerEpisodes(Collection<DemoModel> fetched) {
+        if (enabled) {
+            fetched.forEach(episode -> enqueue(pendingEpisodes, episode));
+        }
+    }
+
+    public void offerCharacters(Collection<DemoEpisode> fetched) {
+        if (enabled) {
+            fetched.forEach(character -> enqueue(pendingCharacters, character));
+        }
+    }
+
+    /** Writes queued rows, at most batch-size per transaction, until both queues are empty. */
+    @Scheduled(fixedDelayString = "${app.store.flush-interval:1s}")
+    public void flush() {
+        if (enabled) {
+            drain(episodes, episodes::findExistingIds, pendingEpisodes);
+            drain(characters, characters::findExistingIds, pendingCharacters);
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), written.sum(), dropped.sum(),
+                pendingEpisodes.size() + pendingCharacters.size());
+    }
+
+    private <T> T readThrough(JpaRepository<T, Integer> repository, BlockingQueue<T> pending,
+                              Integer id, Function<Integer, T> upstream) {
+        if (!enabled) {
+            return upstream.apply(id);
+        }
+        T local = read(() -> repository.findById(id).orElse(null), null);
+        if (local != null) {
+            hits.increment();
+            return local;
+        }
+        misses.increment();
+        T loaded = upstream.apply(id);
+        enqueue(pending, loaded);
+        return loaded;
+    }
+
+    private <T> T read(Supplier<T> query, T fallback) {
+        try {
+            return query.get();
+        } catch (DataAccessException ex) {
+            logger.message("Upstream store read failed, falling back to upstream: " + ex.getMessage());
+            return fallback;
+        }
+    }
+
+    private <T> void enqueue(BlockingQueue<T> pending, T row) {
+        if (!pending.offer(row)) {
+            dropped.increment();
+        }
+    }
+
+    private <T extends Persistable<Integer>> void drain(JpaRepository<T, Integer> repository,
+                                                        Function<Collection<Integer>, List<Integer>> existingIds,
+                                                        BlockingQueue<T> pending) {
+        List<T> batch = new ArrayList<>(batchSize);
+        while (pending.drainTo(batch, batchSize) > 0) {
+            try {
+                List<T> rows = newRows(batch, existingIds);
+                repository.saveAll(rows);
+                written.add(rows.size());
+            } catch (DataAccessException ex) {
+                // dropped rather than retried: the next miss fetches and queues them again
+                dropped.add(batch.size());
+                logger.message("Upstream store write of " + batch.size() + " rows failed: " + ex.getMessage());
+            }
+            batch.clear();
+        }
+    }
+
+    // the same id can be queued twice (e.g. after a cache eviction), and inserts must not collide
+    private static <T extends Persistable<Integer>> List<T> newRows(List<T> batch,
+                                                                    Function<Collection<Integer>, List<Integer>> existingIds) {
+        Set<Integer> ids = new HashSet<>();
+        for (T row : batch) {
+            ids.add(row.getId());
+        }
+        Set<Integer> seen = new HashSet<>(existingIds.apply(ids));
+        List<T> rows = new ArrayList<>(batch.size());
+        for (T row : batch) {
+            if (seen.add(row.getId())) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.coding.DSA;
+
+import com.example.coding.design.DsaResult;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DsaCodeTests {
+
+	@Test
+	void palindromeReturnsFlag() {
+		assertThat(new Palindrome().dsaChallenge("malayalam")).isEqualTo(new DsaResult.BooleanResult(true));
+		assertThat(new Palindrome().isPalindrome("abca")).isFalse();
+		assertThat(new Palindrome().isPalindrome("")).isTrue();
+	}
+
+	@Test
+	void longSubStringReturnsLength() {
+		LongSubString longSubString = new LongSubString();
+		assertThat(longSubString.dsaChallenge("abcabcbb")).isEqualTo(new DsaResult.IntResult(3));
+		assertThat(longSubString.dsaChallenge("pwwkew").describe()).isEqualTo("3");
+		assertThat(longSubString.dsaChallenge("été中")).isEqualTo(new DsaResult.IntResult(3));
+	}
+
+	@Test
+	void longSubStringIgnoresStaleEntriesInReusedTable() {
+		LongSubString longSubString = new LongSubString();
+		int[] lastSeen = new int[128];
+		assertThat(longSubString.longestUniqueLength("zyxwvutsrqponmlk", lastSeen)).isEqualTo(16);
+		assertThat(longSubString.longestUniqueLength("abcabcbb", lastSeen)).isEqualTo(3);
+		assertThat(longSubString.longestUniqueLength("bbbbb", lastSeen)).isEqualTo(1);
+		assertThat(longSubString.longestUniqueLength("dvdf", lastSeen)).isEqualTo(3);
+	}
+
+	@Test
+	void longSubStringCallsShareOneTablePerThread() {
+		LongSubString longSubString = new LongSubString();
+		assertThat(longSubString.dsaChallenge("zyxwvutsrqponmlk")).isEqualTo(new DsaResult.IntResult(16));
+		assertThat(longSubString.dsaChallenge("été中abc")).isEqualTo(new DsaResult.IntResult(6));
+		assertThat(new LongSubString().dsaChallenge("abcabcbb")).isEqualTo(new DsaResult.IntResult(3));
+		assertThat(longSubString.dsaChallenge("dvdf")).isEqualTo(new DsaResult.IntResult(3));
+	}
+
+	@Test
+	void arrayNonZeroCompactsCallerInput() {
+		DsaResult result = new ArrayNonZero().dsaChallenge("0, 3, 0, 1, 12");
+		assertThat(((DsaResult.IntArrayResult) result).values()).containsExactly(3, 1, 12, 0, 0);
+
+		int[] arr = {0, 0, 7};
+		assertThat(new ArrayNonZero().moveZerosToEnd(arr)).isEqualTo(1);
+		assertThat(arr).containsExactly(7, 0, 0);
+	}
+
+	@Test
+	void streamingPalindromeComparesAcrossChunks() throws IOException {
+		byte[] input = new byte[200_001];
+		for (int i = 0; i < input.length / 2; i++) {
+			input[i] = input[input.length - 1 - i] = (byte) ('a' + i % 26);
+		}
+		Palindrome palindrome = new Palindrome();
+		assertThat(palindrome.dsaChallenge(channel(input))).isEqualTo(new DsaResult.BooleanResult(true));
+
+		input[70_000] = '#';
+		assertThat(palindrome.dsaChallenge(channel(input))).isEqualTo(new DsaResult.BooleanResult(false));
+	}
+
+	@Test
+	void streamingLongSubStringMatchesInMemoryResult() throws IOException {
+		StringBuilder text = new StringBuilder();
+		while (text.length() < 150_000) {
+			text.append("abcabcbb pwwkew ").append(text.length() % 97);
+		}
+		LongSubString longSubString = new LongSubString();
+		byte[] bytes = text.toString().getBytes(StandardCharsets.ISO_8859_1);
+		assertThat(longSubString.dsaChallenge(channel(bytes)))
+				.isEqualTo(longSubString.dsaChallenge(text.toString()));
+	}
+
+	@Test
+	void vectorKernelsMatchScalarLoops() {
+		assertThat(VectorSupport.AVAILABLE).as("tests run with --add-modules jdk.incubator.vector").isTrue();
+		SplittableRandom random = new SplittableRandom(42);
+		ArrayNonZero arrayNonZero = new ArrayNonZero();
+		for (int size : new int[]{0, 1, 15, 16, 17, 255, 256, 1_000, 4_099}) {
+			int[] input = random.ints(size, 0, 4).map(value -> value == 0 ? 0 : value * 7).toArray();
+			int[] scalar = input.clone();
+			int[] vector = input.clone();
+			assertThat(VectorKernels.moveZerosToEnd(vector)).isEqualTo(arrayNonZero.moveZerosToEndScalar(scalar));
+			assertThat(vector).isEqualTo(scalar);
+		}
+	}
+
+	@Test
+	void vectorPalindromeFindsEveryMismatch() {
+		Palindrome palindrome = new Palindrome();
+		for (int size : new int[]{300, 301, 8_192, 10_001}) {
+			char[] chars = new char[size];
+			for (int i = 0; i < size / 2; i++) {
+				chars[i] = chars[size - 1 - i] = (char) (i % 3 == 0 ? 'é' + i % 7 : 'a' + i % 26);
+			}
+			assertThat(palindrome.isPalindrome(new String(chars))).isTrue();
+			for (int position : new int[]{0, 63, size / 2 - 1, size - 1}) {
+				char original = chars[position];
+				chars[position] = '中';
+				assertThat(palindrome.isPalindrome(new String(chars))).as("size %d, position %d", size, position).isFalse();
+				chars[position] = original;
+			}
+		}
+
+		byte[] front = new byte[1_000];
+		byte[] back = new byte[1_000];
+		for (int i = 0; i < front.length; i++) {
+			front[i] = back[back.length - 1 - i] = (byte) (i * 31);
+		}
+		assertThat(VectorKernels.mirrored(front, back, front.length)).isTrue();
+		back[5] ^= 1;
+		assertThat(VectorKernels.mirrored(front, back, front.length)).isFalse();
+	}
+
+	private static ReadableByteChannel channel(byte[] bytes) {
+		return Channels.newChannel(new ByteArrayInputStream(bytes));
+	}
+}
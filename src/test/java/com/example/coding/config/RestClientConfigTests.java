@@ -0,0 +1,95 @@
+package com.example.coding.config;
+
+import com.example.coding.stub.UpstreamStub;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.pool.PoolStats;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RestClientConfigTests {
+
+	private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+			.withUserConfiguration(RestClientConfig.class)
+			.withBean(RestClient.Builder.class, RestClient::builder);
+
+	@Test
+	void apacheIsTheDefaultAndOwnsTheConnectionPool() {
+		contextRunner.run(context -> {
+			assertThat(context.getBean(ClientHttpRequestFactory.class))
+					.isInstanceOf(HttpComponentsClientHttpRequestFactory.class);
+			assertThat(context).hasSingleBean(PoolingHttpClientConnectionManager.class);
+		});
+	}
+
+	@Test
+	void jdkClientHasNoConnectionPool() {
+		contextRunner.withPropertyValues("app.http.client=jdk").run(context -> {
+			assertThat(context.getBean(ClientHttpRequestFactory.class))
+					.isInstanceOf(JdkClientHttpRequestFactory.class);
+			assertThat(context).doesNotHaveBean(PoolingHttpClientConnectionManager.class);
+		});
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"apache", "jdk"})
+	void eitherClientReachesTheUpstream(String client) throws IOException {
+		try (UpstreamStub stub = UpstreamStub.start()) {
+			contextRunner.withPropertyValues("app.http.client=" + client, "app.http.base-url=" + stub.baseUrl())
+					.run(context -> {
+						String body = context.getBean(RestClient.class).get().uri("/api/episode/{id}", 1)
+								.retrieve().body(String.class);
+						assertThat(body).contains("\"id\":1");
+						assertThat(stub.hits("/api/episode/1")).isEqualTo(1);
+					});
+		}
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"apache", "jdk"})
+	void readTimeoutBoundsASlowUpstream(String client) throws IOException {
+		try (UpstreamStub stub = UpstreamStub.start()) {
+			stub.setLatency(UpstreamStub.Latency.fixed(Duration.ofSeconds(2)));
+			contextRunner.withPropertyValues("app.http.client=" + client, "app.http.base-url=" + stub.baseUrl(),
+							"app.http.read-timeout=200ms")
+					.run(context -> assertThatThrownBy(() -> context.getBean(RestClient.class).get()
+							.uri("/api/episode/{id}", 1).retrieve().body(String.class))
+							.isInstanceOf(ResourceAccessException.class));
+		}
+	}
+
+	@Test
+	void apacheKeepsConnectionsInThePoolForReuse() throws IOException {
+		try (UpstreamStub stub = UpstreamStub.start()) {
+			contextRunner.withPropertyValues("app.http.base-url=" + stub.baseUrl(), "app.http.max-per-route=2")
+					.run(context -> {
+						RestClient restClient = context.getBean(RestClient.class);
+						for (int id = 1; id <= 5; id++) {
+							restClient.get().uri("/api/episode/{id}", id).retrieve().body(String.class);
+						}
+						PoolStats pool = context.getBean(PoolingHttpClientConnectionManager.class).getTotalStats();
+						assertThat(pool.getLeased()).isZero();
+						assertThat(pool.getAvailable()).isEqualTo(1);
+						assertThat(pool.getMax()).isEqualTo(200);
+					});
+		}
+	}
+
+	@Test
+	void unknownClientFailsAtStartup() {
+		contextRunner.withPropertyValues("app.http.client=okhttp").run(context ->
+				assertThat(context).getFailure().hasRootCauseMessage("app.http.client must be apache or jdk, not okhttp"));
+	}
+}
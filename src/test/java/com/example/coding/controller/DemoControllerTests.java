@@ -0,0 +1,168 @@
+package com.example.coding.controller;
+
+import com.example.coding.design.SingletonLogger;
+import com.example.coding.model.DemoEpisode;
+import com.example.coding.model.DemoModel;
+import com.example.coding.service.CharacterResolverService;
+import com.example.coding.service.DemoServiceImpl;
+import com.example.coding.service.RepresentationCache;
+import com.example.coding.service.UpstreamCache;
+import com.example.coding.service.UpstreamStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(DemoController.class)
+@Import({RepresentationCache.class, UpstreamCache.class, SimpleMeterRegistry.class})
+class DemoControllerTests {
+
+	// enough characters for the body to pass app.http-cache.gzip-min-size
+	private static final int[] CHARACTER_IDS = IntStream.rangeClosed(1, 100).toArray();
+
+	@Autowired
+	MockMvc mockMvc;
+
+	@Autowired
+	UpstreamCache upstreamCache;
+
+	@Autowired
+	RepresentationCache representations;
+
+	@MockitoBean
+	DemoServiceImpl demoService;
+
+	@MockitoBean
+	CharacterResolverService characterResolver;
+
+	@MockitoBean
+	UpstreamStore upstreamStore;
+
+	@MockitoBean
+	SingletonLogger logger;
+
+	// the mocks load through the upstream cache like the real services, so representations can follow it;
+	// both caches outlive a test with the context, the mocks do not
+	@BeforeEach
+	void upstream() throws Exception {
+		representations.invalidateAll();
+		when(demoService.fetchDemoEpisode(1)).thenAnswer(invocation ->
+				upstreamCache.get(UpstreamCache.Resource.EPISODE, 1, id -> episode()));
+		when(characterResolver.resolveNames(any())).thenAnswer(invocation -> {
+			List<Integer> ids = IntStream.of(invocation.<int[]>getArgument(0)).boxed().toList();
+			Map<Integer, DemoEpisode> characters = upstreamCache.getAll(UpstreamCache.Resource.CHARACTER, ids,
+					missing -> {
+						Map<Integer, DemoEpisode> loaded = new LinkedHashMap<>();
+						missing.forEach(id -> loaded.put(id, character(id)));
+						return loaded;
+					});
+			return characters.values().stream().map(DemoEpisode::getName).toList();
+		});
+	}
+
+	@Test
+	void matchingIfNoneMatchIsAnsweredWithoutCallingTheService() throws Exception {
+		String etag = mockMvc.perform(get("/api/episode/1"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(get("/api/episode/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, etag))
+				.andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+				.andExpect(content().bytes(new byte[0]));
+
+		verify(demoService, times(1)).fetchDemoEpisode(1);
+		verify(characterResolver, times(1)).resolveNames(any());
+	}
+
+	@Test
+	void gzipVariantIsNegotiatedByAcceptEncoding() throws Exception {
+		MvcResult identity = mockMvc.perform(get("/api/episode/1"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+				.andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+				.andReturn();
+		MvcResult gzip = mockMvc.perform(get("/api/episode/1").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+				.andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+				.andReturn();
+
+		assertThat(gzip.getResponse().getHeader(HttpHeaders.ETAG))
+				.isNotEqualTo(identity.getResponse().getHeader(HttpHeaders.ETAG));
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip.getResponse().getContentAsByteArray()))) {
+			assertThat(in.readAllBytes()).isEqualTo(identity.getResponse().getContentAsByteArray());
+		}
+		// the identity ETag does not match the gzip variant
+		mockMvc.perform(get("/api/episode/1").header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+						.header(HttpHeaders.IF_NONE_MATCH, identity.getResponse().getHeader(HttpHeaders.ETAG)))
+				.andExpect(status().isOk());
+		verify(demoService, times(1)).fetchDemoEpisode(1);
+	}
+
+	@Test
+	void replacedUpstreamValueIsServedWithANewEtag() throws Exception {
+		String before = mockMvc.perform(get("/api/episode/1"))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		DemoEpisode renamed = character(1);
+		renamed.setName("Rick Sanchez (renamed)");
+		upstreamCache.put(UpstreamCache.Resource.CHARACTER, 1, renamed);
+
+		mockMvc.perform(get("/api/episode/1").header(HttpHeaders.IF_NONE_MATCH, before))
+				.andExpect(status().isOk())
+				.andExpect(content().string(containsString("Rick Sanchez (renamed)")));
+	}
+
+	@Test
+	void missedResolutionDeadlineIsAGatewayTimeout() throws Exception {
+		doThrow(new TimeoutException("Character resolution exceeded 3000 ms")).when(characterResolver).resolveNames(any());
+
+		mockMvc.perform(get("/api/episode/1"))
+				.andExpect(status().isGatewayTimeout())
+				.andExpect(jsonPath("$.title").value("Upstream Timeout"));
+	}
+
+	private static DemoModel episode() {
+		DemoModel episode = new DemoModel();
+		episode.setId(1);
+		episode.setName("Pilot");
+		episode.setCharacterIds(CHARACTER_IDS);
+		return episode;
+	}
+
+	private static DemoEpisode character(int id) {
+		DemoEpisode character = new DemoEpisode();
+		character.setId(id);
+		character.setName(id == 1 ? "Rick Sanchez" : "Character " + id);
+		return character;
+	}
+}
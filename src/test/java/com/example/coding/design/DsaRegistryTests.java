@@ -0,0 +1,36 @@
+package com.example.coding.design;
+
+import com.example.coding.DSA.ArrayNonZero;
+import com.example.coding.DSA.LongSubString;
+import com.example.coding.DSA.Palindrome;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DsaRegistryTests {
+
+	private final DsaRegistry registry = DsaRegistry.getInstance();
+
+	@Test
+	void discoversEveryServiceLoaderEntry() {
+		assertThat(registry.names()).containsExactly("ArrayNonZero", "LongSubString", "Palindrome");
+		assertThat(registry.lookup("ArrayNonZero")).isInstanceOf(ArrayNonZero.class);
+		assertThat(registry.lookup("LongSubString")).isInstanceOf(LongSubString.class);
+		assertThat(registry.lookup("Palindrome")).isInstanceOf(Palindrome.class);
+	}
+
+	@Test
+	void isASingletonHandingOutOneInstancePerAlgorithm() {
+		assertThat(DsaRegistry.getInstance()).isSameAs(registry);
+		assertThat(registry.lookup("palindrome")).isSameAs(registry.lookup("PALINDROME"));
+		assertThat(FactoryDSA.getMethod("Palindrome")).isSameAs(registry.lookup("Palindrome"));
+	}
+
+	@Test
+	void unknownNamesThrowUnknownDsaException() {
+		assertThatThrownBy(() -> registry.lookup("BubbleSort"))
+				.isInstanceOf(UnknownDsaException.class)
+				.hasMessage("Unknown DSA algorithm: BubbleSort");
+	}
+}
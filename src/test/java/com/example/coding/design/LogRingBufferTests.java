@@ -0,0 +1,69 @@
+package com.example.coding.design;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogRingBufferTests {
+
+	@Test
+	void roundsCapacityUpToAPowerOfTwoAndRejectsWhenFull() {
+		LogRingBuffer buffer = new LogRingBuffer(5);
+
+		assertThat(buffer.capacity()).isEqualTo(8);
+		for (int i = 0; i < 8; i++) {
+			assertThat(buffer.offer("m" + i)).isTrue();
+		}
+		assertThat(buffer.offer("overflow")).isFalse();
+		assertThat(buffer.poll()).isEqualTo("m0");
+		assertThat(buffer.offer("m8")).isTrue();
+		assertThat(buffer.size()).isEqualTo(8);
+	}
+
+	@Test
+	void concurrentProducersLoseNothingAndKeepTheirOwnOrder() throws Exception {
+		int producers = 4;
+		int perProducer = 20_000;
+		LogRingBuffer buffer = new LogRingBuffer(64);
+		List<Future<?>> sent = new ArrayList<>();
+		int[] next = new int[producers];
+		int received = 0;
+		try (ExecutorService executor = Executors.newFixedThreadPool(producers)) {
+			for (int p = 0; p < producers; p++) {
+				int producer = p;
+				sent.add(executor.submit(() -> {
+					for (int i = 0; i < perProducer; i++) {
+						while (!buffer.offer(producer + ":" + i)) {
+							Thread.onSpinWait();
+						}
+					}
+				}));
+			}
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+			while (received < producers * perProducer && System.nanoTime() < deadline) {
+				String message = buffer.poll();
+				if (message == null) {
+					Thread.onSpinWait();
+					continue;
+				}
+				String[] parts = message.split(":");
+				int producer = Integer.parseInt(parts[0]);
+				assertThat(Integer.parseInt(parts[1])).isEqualTo(next[producer]);
+				next[producer]++;
+				received++;
+			}
+			for (Future<?> future : sent) {
+				future.get(10, TimeUnit.SECONDS);
+			}
+		}
+		assertThat(received).isEqualTo(producers * perProducer);
+		assertThat(buffer.poll()).isNull();
+	}
+}
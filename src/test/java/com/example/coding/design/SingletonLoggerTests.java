@@ -0,0 +1,85 @@
+package com.example.coding.design;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SingletonLoggerTests {
+
+	private static final int PRODUCERS = 4;
+	private static final int PER_PRODUCER = 5_000;
+
+	private final ByteArrayOutputStream captured = new ByteArrayOutputStream();
+	private final PrintStream out = new PrintStream(captured, false, StandardCharsets.UTF_8);
+
+	@Test
+	void blockWritesEveryMessage() throws Exception {
+		SingletonLogger logger = new SingletonLogger(16, SingletonLogger.OverflowPolicy.BLOCK, () -> out);
+
+		produce(logger);
+
+		assertThat(logger.flush(TimeUnit.SECONDS.toMillis(30))).isTrue();
+		assertThat(logger.droppedCount()).isZero();
+		assertThat(logger.writtenCount()).isEqualTo(PRODUCERS * PER_PRODUCER);
+		Set<String> lines = new HashSet<>(lines());
+		assertThat(lines).hasSize(PRODUCERS * PER_PRODUCER).contains("[LOG]=====>0:0", "[LOG]=====>3:4999");
+	}
+
+	@Test
+	void dropAccountsForEveryOfferedMessage() throws Exception {
+		SingletonLogger logger = new SingletonLogger(16, SingletonLogger.OverflowPolicy.DROP, () -> out);
+
+		produce(logger);
+
+		assertThat(logger.flush(TimeUnit.SECONDS.toMillis(30))).isTrue();
+		assertThat(logger.writtenCount() + logger.droppedCount()).isEqualTo(PRODUCERS * PER_PRODUCER);
+		assertThat(lines()).hasSize((int) logger.writtenCount());
+	}
+
+	@Test
+	void flushReturnsOnlyOnceTheLastMessageIsPrinted() {
+		SingletonLogger logger = new SingletonLogger(16, SingletonLogger.OverflowPolicy.BLOCK, () -> out);
+
+		for (int i = 0; i < 100; i++) {
+			logger.message(i);
+			assertThat(logger.flush(TimeUnit.SECONDS.toMillis(10))).isTrue();
+			assertThat(lines()).hasSize(i + 1).last().isEqualTo("[LOG]=====>" + i);
+		}
+	}
+
+	private static void produce(SingletonLogger logger) throws Exception {
+		List<Future<?>> producers = new ArrayList<>();
+		try (ExecutorService executor = Executors.newFixedThreadPool(PRODUCERS)) {
+			for (int p = 0; p < PRODUCERS; p++) {
+				int producer = p;
+				producers.add(executor.submit(() -> {
+					for (int i = 0; i < PER_PRODUCER; i++) {
+						logger.message(producer + ":" + i);
+					}
+				}));
+			}
+			for (Future<?> future : producers) {
+				future.get(30, TimeUnit.SECONDS);
+			}
+		}
+	}
+
+	private List<String> lines() {
+		synchronized (out) {
+			String text = captured.toString(StandardCharsets.UTF_8);
+			return text.isEmpty() ? List.of() : List.of(text.split(System.lineSeparator()));
+		}
+	}
+}
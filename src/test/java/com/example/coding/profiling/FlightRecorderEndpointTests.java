@@ -0,0 +1,94 @@
+package com.example.coding.profiling;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FlightRecorderEndpointTests {
+
+	private final FlightRecorderEndpoint endpoint = new FlightRecorderEndpoint(Duration.ofSeconds(30), Duration.ofMinutes(5));
+
+	@AfterEach
+	void tearDown() throws IOException {
+		endpoint.discard();
+	}
+
+	@Test
+	void onlyAllowlistedEventsAreEnabled() throws Exception {
+		Configuration profile = Configuration.getConfiguration("profile");
+		Map<String, String> settings = FlightRecorderEndpoint.settings(profile);
+
+		assertThat(settings).containsEntry("jdk.InitialEnvironmentVariable#enabled", "false")
+				.containsEntry("jdk.InitialSystemProperty#enabled", "false")
+				.containsEntry("jdk.InitialSecurityProperty#enabled", "false")
+				.containsEntry("jdk.SystemProcess#enabled", "false")
+				.containsEntry("jdk.JVMInformation#enabled", "false")
+				.containsEntry("jdk.ExecutionSample#enabled", "true")
+				.containsEntry("jdk.ExecutionSample#period", profile.getSettings().get("jdk.ExecutionSample#period"))
+				.containsEntry("com.example.coding.UpstreamCall#enabled", "true");
+	}
+
+	@Test
+	void recordsInTheBackgroundAndHandsOverTheFileOnce() throws Exception {
+		// the caller is answered before the recording ends (the first start also initializes JFR)
+		long started = System.nanoTime();
+		assertThat(endpoint.start(Duration.ofSeconds(3), "default").getStatus()).isEqualTo(202);
+		assertThat(System.nanoTime() - started).isLessThan(TimeUnit.SECONDS.toNanos(3));
+		assertThat(endpoint.start(Duration.ofSeconds(3), "default").getStatus()).isEqualTo(409);
+		assertThat(endpoint.download().getStatus()).isEqualTo(409);
+
+		WebEndpointResponse<Resource> response = endpoint.download();
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(15);
+		while (response.getStatus() == 409 && System.nanoTime() < deadline) {
+			Thread.sleep(50);
+			response = endpoint.download();
+		}
+		assertThat(response.getStatus()).isEqualTo(200);
+
+		Path file = Files.createTempFile("download-", ".jfr");
+		try (InputStream body = response.getBody().getInputStream()) {
+			Files.copy(body, file, StandardCopyOption.REPLACE_EXISTING);
+			List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+			assertThat(events).isNotEmpty();
+			assertThat(events).extracting(event -> event.getEventType().getName())
+					.allMatch(FlightRecorderEndpoint.EVENTS::contains);
+		} finally {
+			Files.deleteIfExists(file);
+		}
+		assertThat(endpoint.download().getStatus()).isEqualTo(404);
+	}
+
+	@Test
+	void existsOnlyBehindALoopbackManagementServer() {
+		ApplicationContextRunner runner = new ApplicationContextRunner()
+				.withInitializer(context -> context.getBeanFactory()
+						.setConversionService(ApplicationConversionService.getSharedInstance()))
+				.withUserConfiguration(FlightRecorderEndpoint.class);
+
+		runner.run(context -> assertThat(context).doesNotHaveBean(FlightRecorderEndpoint.class));
+		runner.withPropertyValues("management.server.port=8087", "management.server.address=0.0.0.0")
+				.run(context -> assertThat(context).doesNotHaveBean(FlightRecorderEndpoint.class));
+		runner.withPropertyValues("server.port=8087", "management.server.port=8087", "management.server.address=127.0.0.1")
+				.run(context -> assertThat(context).doesNotHaveBean(FlightRecorderEndpoint.class));
+		runner.withPropertyValues("management.server.port=8087", "management.server.address=127.0.0.1")
+				.run(context -> assertThat(context).hasSingleBean(FlightRecorderEndpoint.class));
+	}
+}
@@ -0,0 +1,77 @@
+package com.example.coding.profiling;
+
+import com.example.coding.service.TemplateRunnerService;
+import com.example.coding.stub.UpstreamStub;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FlightRecorderEventsTests {
+
+	@Test
+	void dsaRunsRecordAlgorithmModeAndInputSize() throws IOException {
+		TemplateRunnerService runner = new TemplateRunnerService("", new SimpleMeterRegistry());
+
+		List<RecordedEvent> events = record(DsaExecutionEvent.class, () -> {
+			runner.runDsa("Palindrome", "racecar");
+			runner.runDsaStream("Palindrome", Channels.newChannel(new ByteArrayInputStream("abccba".getBytes())));
+		});
+
+		assertThat(events).extracting(event -> event.getString("algorithm")).containsExactly("Palindrome", "Palindrome");
+		assertThat(events).extracting(event -> event.getString("mode")).containsExactly("memory", "stream");
+		assertThat(events).extracting(event -> event.getLong("inputSize")).containsExactly(7L, 6L);
+	}
+
+	@Test
+	void upstreamCallsRecordTemplateStatusAndBytes() throws IOException {
+		try (UpstreamStub stub = UpstreamStub.start()) {
+			RestClient restClient = RestClient.builder()
+					.baseUrl(stub.baseUrl())
+					.requestInterceptor(new UpstreamCallRecorder())
+					.build();
+
+			List<RecordedEvent> events = record(UpstreamCallEvent.class, () -> {
+				String body = restClient.get().uri("/api/episode/{id}", 3).retrieve().body(String.class);
+				assertThat(body).isNotEmpty();
+			});
+
+			assertThat(events).hasSize(1);
+			RecordedEvent call = events.get(0);
+			assertThat(call.getString("method")).isEqualTo("GET");
+			assertThat(call.getString("uriTemplate")).isEqualTo("/api/episode/{id}");
+			assertThat(call.getString("uri")).endsWith("/api/episode/3");
+			assertThat(call.getInt("status")).isEqualTo(200);
+			assertThat(call.getLong("bytes")).isPositive();
+		}
+	}
+
+	private interface Work {
+		void run() throws IOException;
+	}
+
+	private static List<RecordedEvent> record(Class<? extends jdk.jfr.Event> eventType, Work work) throws IOException {
+		Path file = Files.createTempFile("events-", ".jfr");
+		try (Recording recording = new Recording()) {
+			recording.enable(eventType);
+			recording.start();
+			work.run();
+			recording.stop();
+			recording.dump(file);
+			return RecordingFile.readAllEvents(file);
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+}
@@ -0,0 +1,138 @@
+package com.example.coding.service;
+
+import com.example.coding.stub.UpstreamStub;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "app.store.enabled=false")
+@ActiveProfiles("h2")
+class CatalogWarmupTests {
+
+	static final UpstreamStub stub = startStub();
+
+	private static final Duration TTL = Duration.ofMinutes(10);
+	private static final Duration STALE_TTL = Duration.ofDays(1);
+	private static final AtomicLong nanos = new AtomicLong();
+
+	// the cache everything in the context reads through, on a clock the tests move
+	@TestConfiguration
+	static class FakeTicker {
+
+		@Bean
+		@Primary
+		UpstreamCache fakeTickerUpstreamCache() {
+			return new UpstreamCache(10_000, TTL.toSeconds(), STALE_TTL.toSeconds(), nanos::get);
+		}
+	}
+
+	@Autowired
+	CatalogWarmup warmup;
+
+	@Autowired
+	DemoService demoService;
+
+	@DynamicPropertySource
+	static void upstream(DynamicPropertyRegistry registry) {
+		registry.add("app.http.base-url", stub::baseUrl);
+	}
+
+	@AfterAll
+	static void stopStub() {
+		stub.close();
+	}
+
+	@BeforeEach
+	void reset() {
+		stub.reset();
+	}
+
+	@Test
+	void sweepPreloadsBothCatalogs() {
+		stub.setCatalogSize(25, 45);
+
+		CatalogWarmup.Result result = warmup.sweep();
+
+		assertThat(result.completed()).isTrue();
+		assertThat(result.fetched()).isEqualTo(2 + 3);
+		assertThat(demoService.fetchDemoEpisode(25).getName()).isEqualTo("Episode 25");
+		List<Integer> characterIds = IntStream.rangeClosed(1, 45).boxed().toList();
+		assertThat(demoService.fetchDemoEpisodeNames(characterIds)).hasSize(45);
+		assertThat(stub.hits("/api/episode/25")).isZero();
+		assertThat(stub.hits("/api/character/45")).isZero();
+	}
+
+	@Test
+	void refreshOnlyRereadsChangedPages() {
+		// every listing page carries the catalog's total, so growing a catalog changes all its pages
+		stub.setCatalogSize(25, 45);
+		warmup.sweep();
+
+		stub.setCatalogSize(25, 50);
+		CatalogWarmup.Result refresh = warmup.sweep();
+
+		assertThat(refresh.completed()).isTrue();
+		assertThat(refresh.fetched()).isEqualTo(3);
+		assertThat(refresh.notModified()).isEqualTo(2);
+		assertThat(demoService.fetchDemoEpisodeName(50).getName()).isEqualTo("Character 50");
+		assertThat(stub.hits("/api/character/50")).isZero();
+	}
+
+	@Test
+	void refreshesPastTheCacheTtlKeepUnchangedRowsCached() {
+		stub.setCatalogSize(25, 45);
+		warmup.sweep();
+
+		for (int refresh = 0; refresh < 2; refresh++) {
+			nanos.addAndGet(TTL.plusSeconds(1).toNanos());
+			CatalogWarmup.Result result = warmup.sweep();
+			assertThat(result.notModified()).isEqualTo(2 + 3);
+			assertThat(result.fetched()).isZero();
+		}
+
+		assertThat(demoService.fetchDemoEpisode(25).getName()).isEqualTo("Episode 25");
+		List<Integer> characterIds = IntStream.rangeClosed(1, 45).boxed().toList();
+		assertThat(demoService.fetchDemoEpisodeNames(characterIds)).hasSize(45);
+		assertThat(stub.hits("/api/episode/25")).isZero();
+		assertThat(stub.hits("/api/character/45")).isZero();
+	}
+
+	@Test
+	void unchangedPagesAreFetchedAgainOnceTheirRowsLeftTheStaleTier() {
+		stub.setCatalogSize(25, 45);
+		warmup.sweep();
+
+		nanos.addAndGet(STALE_TTL.plusSeconds(1).toNanos());
+		CatalogWarmup.Result refresh = warmup.sweep();
+
+		assertThat(refresh.fetched()).isEqualTo(2 + 3);
+		assertThat(refresh.notModified()).isZero();
+		assertThat(demoService.fetchDemoEpisode(25).getName()).isEqualTo("Episode 25");
+		assertThat(stub.hits("/api/episode/25")).isZero();
+	}
+
+	private static UpstreamStub startStub() {
+		try {
+			return UpstreamStub.start();
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+}
@@ -0,0 +1,117 @@
+package com.example.coding.service;
+
+import com.example.coding.model.DemoEpisode;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CharacterResolverServiceTests {
+
+	private final DemoService demoService = mock(DemoService.class);
+
+	@Test
+	void idsAreFetchedInBatchesOfTheConfiguredSize() throws Exception {
+		List<List<Integer>> requested = Collections.synchronizedList(new ArrayList<>());
+		when(demoService.fetchDemoEpisodeNames(anyList())).thenAnswer(invocation -> {
+			List<Integer> ids = invocation.getArgument(0);
+			requested.add(List.copyOf(ids));
+			return characters(ids);
+		});
+
+		new CharacterResolverService(demoService, 2, 3000).resolveNames(new int[] {1, 2, 3, 4, 5});
+
+		assertThat(requested).containsExactlyInAnyOrder(List.of(1, 2), List.of(3, 4), List.of(5));
+	}
+
+	@Test
+	void namesFollowTheOrderOfTheIds() throws Exception {
+		// the multi-id endpoint does not keep the order of the request
+		when(demoService.fetchDemoEpisodeNames(anyList())).thenAnswer(invocation -> {
+			List<DemoEpisode> characters = characters(invocation.getArgument(0));
+			Collections.reverse(characters);
+			return characters;
+		});
+
+		List<String> names = new CharacterResolverService(demoService, 3, 3000).resolveNames(new int[] {7, 3, 9, 1, 5});
+
+		assertThat(names).containsExactly("Character 7", "Character 3", "Character 9", "Character 1", "Character 5");
+	}
+
+	@Test
+	void slowBatchFailsTheRequestAtTheDeadline() throws Exception {
+		CountDownLatch cancelled = new CountDownLatch(1);
+		when(demoService.fetchDemoEpisodeNames(anyList())).thenAnswer(invocation -> {
+			List<Integer> ids = invocation.getArgument(0);
+			if (ids.contains(3)) {
+				try {
+					Thread.sleep(TimeUnit.SECONDS.toMillis(10));
+				} catch (InterruptedException ex) {
+					cancelled.countDown();
+				}
+			}
+			return characters(ids);
+		});
+		CharacterResolverService resolver = new CharacterResolverService(demoService, 2, 200);
+
+		long started = System.nanoTime();
+		assertThatThrownBy(() -> resolver.resolveNames(new int[] {1, 2, 3, 4}))
+				.isInstanceOf(TimeoutException.class)
+				.hasMessageContaining("200 ms");
+
+		assertThat(System.nanoTime() - started).isLessThan(TimeUnit.SECONDS.toNanos(2));
+		// the batch still in flight is cancelled rather than left running
+		assertThat(cancelled.await(1, TimeUnit.SECONDS)).isTrue();
+	}
+
+	@Test
+	void shutdownInterruptsBatchesStillInFlight() throws Exception {
+		CountDownLatch fetching = new CountDownLatch(1);
+		CountDownLatch interrupted = new CountDownLatch(1);
+		when(demoService.fetchDemoEpisodeNames(anyList())).thenAnswer(invocation -> {
+			fetching.countDown();
+			try {
+				Thread.sleep(TimeUnit.SECONDS.toMillis(10));
+			} catch (InterruptedException ex) {
+				interrupted.countDown();
+			}
+			return characters(invocation.getArgument(0));
+		});
+		CharacterResolverService resolver = new CharacterResolverService(demoService, 2, 10_000);
+
+		Thread request = Thread.ofVirtual().start(() -> {
+			try {
+				resolver.resolveNames(new int[] {1, 2});
+			} catch (TimeoutException ex) {
+				throw new AssertionError(ex);
+			}
+		});
+		assertThat(fetching.await(1, TimeUnit.SECONDS)).isTrue();
+		resolver.shutdown();
+
+		assertThat(interrupted.await(1, TimeUnit.SECONDS)).isTrue();
+		request.join(TimeUnit.SECONDS.toMillis(1));
+		assertThat(request.isAlive()).isFalse();
+	}
+
+	private static List<DemoEpisode> characters(List<Integer> ids) {
+		List<DemoEpisode> characters = new ArrayList<>();
+		for (Integer id : ids) {
+			DemoEpisode character = new DemoEpisode();
+			character.setId(id);
+			character.setName("Character " + id);
+			characters.add(character);
+		}
+		return characters;
+	}
+}
@@ -0,0 +1,110 @@
+package com.example.coding.service;
+
+import com.example.coding.model.DemoModel;
+import com.example.coding.model.UpstreamPage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EpisodeStreamDecoderTests {
+
+	private final EpisodeStreamDecoder decoder = new EpisodeStreamDecoder(new ObjectMapper());
+
+	@Test
+	void decodesIdNameAndCharacterIdsSkippingUnknownFields() throws IOException {
+		DemoModel episode = decoder.decodeEpisode(json("""
+				{"id": 28, "name": "The Ricklantis Mixup", "air_date": "September 10, 2017",
+				 "nested": {"characters": ["https://x/api/character/999"], "list": [1, [2, 3]]},
+				 "characters": ["https://rickandmortyapi.com/api/character/1",
+				                "https://rickandmortyapi.com/api/character/42/",
+				                "https://rickandmortyapi.com/api/character/826"],
+				 "url": "https://rickandmortyapi.com/api/episode/28", "created": null}
+				"""));
+
+		assertThat(episode.getId()).isEqualTo(28);
+		assertThat(episode.getName()).isEqualTo("The Ricklantis Mixup");
+		assertThat(episode.getCharacterIds()).containsExactly(1, 42, 826);
+	}
+
+	@Test
+	void emptyOrMissingCharactersDecodeToAnEmptyArray() throws IOException {
+		assertThat(decoder.decodeEpisode(json("{\"id\": 1, \"characters\": []}")).getCharacterIds()).isEmpty();
+		assertThat(decoder.decodeEpisode(json("{\"id\": 1}")).getCharacterIds()).isEmpty();
+	}
+
+	@Test
+	void manyCharactersGrowTheIdBuffer() throws IOException {
+		StringBuilder characters = new StringBuilder();
+		for (int id = 1; id <= 200; id++) {
+			characters.append(id == 1 ? "" : ",").append("\"/api/character/").append(id).append('"');
+		}
+		DemoModel episode = decoder.decodeEpisode(json("{\"characters\": [" + characters + "]}"));
+
+		assertThat(episode.getCharacterIds()).hasSize(200).startsWith(1, 2).endsWith(199, 200);
+	}
+
+	@Test
+	void rejectsMalformedCharacterUrls() {
+		assertThatThrownBy(() -> decoder.decodeEpisode(json("{\"characters\": [\"/api/character/abc\"]}")))
+				.isInstanceOf(IOException.class)
+				.hasMessageContaining("/api/character/abc");
+		assertThatThrownBy(() -> decoder.decodeEpisode(json("{\"characters\": [\"/api/character/\"]}")))
+				.isInstanceOf(IOException.class);
+		assertThatThrownBy(() -> decoder.decodeEpisode(json("{\"characters\": [\"/api/character/12345678901\"]}")))
+				.isInstanceOf(IOException.class);
+		assertThatThrownBy(() -> decoder.decodeEpisode(json("{\"characters\": [1, 2]}")))
+				.isInstanceOf(IOException.class)
+				.hasMessageContaining("Expected character URL strings");
+		assertThatThrownBy(() -> decoder.decodeEpisode(json("[]")))
+				.isInstanceOf(IOException.class)
+				.hasMessageContaining("Expected an episode object");
+	}
+
+	@Test
+	void trailingIdReadsTheLastPathSegmentWithinTheGivenRange() throws IOException {
+		char[] chars = "xx/api/character/7//yy".toCharArray();
+
+		assertThat(EpisodeStreamDecoder.trailingId(chars, 2, 18)).isEqualTo(7);
+		assertThat(EpisodeStreamDecoder.trailingId("123456789".toCharArray(), 0, 9)).isEqualTo(123456789);
+	}
+
+	@Test
+	void decodesAnEpisodePageWithInfoAndResults() throws IOException {
+		UpstreamPage<DemoModel> page = decoder.decodeEpisodePage(json("""
+				{"results": [{"id": 21, "name": "A", "characters": ["/api/character/1"]},
+				             {"id": 22, "name": "B", "characters": []}],
+				 "extra": {"ignored": true},
+				 "info": {"count": 51, "pages": 3, "next": "https://x/api/episode?page=3",
+				          "prev": "https://x/api/episode?page=1"}}
+				"""));
+
+		assertThat(page.info()).isEqualTo(new UpstreamPage.Info(51, 3,
+				"https://x/api/episode?page=3", "https://x/api/episode?page=1"));
+		assertThat(page.results()).extracting(DemoModel::getId).containsExactly(21, 22);
+		assertThat(page.results().get(0).getCharacterIds()).containsExactly(1);
+		assertThat(page.results().get(1).getCharacterIds()).isEmpty();
+	}
+
+	@Test
+	void lastPageHasNoNextAndAPageWithoutInfoIsRejected() throws IOException {
+		UpstreamPage<DemoModel> last = decoder.decodeEpisodePage(json(
+				"{\"info\": {\"count\": 51, \"pages\": 3, \"next\": null, \"prev\": \"p2\"}, \"results\": []}"));
+
+		assertThat(last.info().next()).isNull();
+		assertThat(last.results()).isEmpty();
+		assertThatThrownBy(() -> decoder.decodeEpisodePage(json("{\"results\": []}")))
+				.isInstanceOf(IOException.class)
+				.hasMessageContaining("without info");
+	}
+
+	private static InputStream json(String text) {
+		return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,50 @@
+package com.example.coding.service;
+
+import com.example.coding.model.FrequencyEntry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FrequencyServiceTests {
+
+	@Test
+	void countsCharsAndTopK() {
+		CharCounter counter = new FrequencyService(1_000).countChars("Banana");
+		assertThat(counter.get('a')).isEqualTo(3);
+		assertThat(counter.top(2)).containsExactly(new FrequencyEntry("a", 3), new FrequencyEntry("n", 2));
+	}
+
+	@Test
+	void countsTokens() {
+		TokenCounter counter = new FrequencyService(1_000).countTokens("Apple Banana, Orange\nApple");
+		assertThat(counter.get("Apple")).isEqualTo(2);
+		assertThat(counter.get("Orange")).isEqualTo(1);
+		assertThat(counter.get("Kiwi")).isZero();
+		assertThat(counter.top(1)).containsExactly(new FrequencyEntry("Apple", 2));
+	}
+
+	@Test
+	void parallelChunksMatchBoxedCollector() {
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < 50_000; i++) {
+			text.append("token").append(i % 1_237).append(i % 3 == 0 ? "\n" : " ").append("é中");
+		}
+		String input = text.toString();
+		Map<String, Long> expected = Stream.of(input.split("[^\\p{L}\\p{Nd}]+"))
+				.filter(token -> !token.isEmpty())
+				.collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+
+		TokenCounter tokens = new FrequencyService(1).countTokens(input);
+		assertThat(tokens.size()).isEqualTo(expected.size());
+		expected.forEach((token, count) -> assertThat(tokens.get(token)).as(token).isEqualTo(count));
+
+		CharCounter chars = new FrequencyService(1).countChars(input);
+		assertThat(chars.get('中')).isEqualTo(50_000);
+		assertThat(chars.get('\n')).isEqualTo(16_667);
+	}
+}
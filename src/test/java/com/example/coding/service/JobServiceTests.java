@@ -0,0 +1,276 @@
+package com.example.coding.service;
+
+import com.example.coding.model.JobStatus;
+import com.example.coding.model.NumericSummary;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JobServiceTests {
+
+	private final JobService jobs = new JobService(1, 3, Duration.ofMinutes(1), Duration.ofMinutes(1));
+
+	@AfterEach
+	void tearDown() {
+		jobs.shutdown();
+	}
+
+	@Test
+	void runsQueuedJobsByPriorityThenSubmissionOrder() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		JobStatus blocker = jobs.submit("blocker", JobStatus.Priority.NORMAL, progress -> release.await(10, TimeUnit.SECONDS));
+		awaitState(blocker.id(), JobStatus.State.RUNNING);
+
+		List<String> order = new CopyOnWriteArrayList<>();
+		JobStatus low = jobs.submit("low", JobStatus.Priority.LOW, progress -> order.add("low"));
+		jobs.submit("normal", JobStatus.Priority.NORMAL, progress -> order.add("normal"));
+		jobs.submit("high", JobStatus.Priority.HIGH, progress -> order.add("high"));
+		release.countDown();
+
+		awaitState(low.id(), JobStatus.State.SUCCEEDED);
+		assertThat(order).containsExactly("high", "normal", "low");
+	}
+
+	@Test
+	void rejectsSubmissionsBeyondQueueCapacity() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		JobStatus blocker = jobs.submit("blocker", JobStatus.Priority.NORMAL, progress -> release.await(10, TimeUnit.SECONDS));
+		awaitState(blocker.id(), JobStatus.State.RUNNING);
+		for (int i = 0; i < 3; i++) {
+			jobs.submit("queued", JobStatus.Priority.NORMAL, progress -> null);
+		}
+
+		assertThatThrownBy(() -> jobs.submit("overflow", JobStatus.Priority.HIGH, progress -> null))
+				.isInstanceOf(RejectedExecutionException.class);
+		assertThat(jobs.stats().rejected()).isEqualTo(1);
+		release.countDown();
+	}
+
+	@Test
+	void concurrentSubmissionsNeverOverfillTheQueue() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		JobStatus blocker = jobs.submit("blocker", JobStatus.Priority.NORMAL, progress -> release.await(10, TimeUnit.SECONDS));
+		awaitState(blocker.id(), JobStatus.State.RUNNING);
+
+		ExecutorService submitters = Executors.newFixedThreadPool(8);
+		CountDownLatch go = new CountDownLatch(1);
+		AtomicInteger accepted = new AtomicInteger();
+		List<Future<?>> submissions = new ArrayList<>();
+		for (int i = 0; i < 32; i++) {
+			submissions.add(submitters.submit(() -> {
+				go.await();
+				try {
+					jobs.submit("queued", JobStatus.Priority.NORMAL, progress -> null);
+					accepted.incrementAndGet();
+				} catch (RejectedExecutionException ex) {
+					// expected once the queue is full
+				}
+				return null;
+			}));
+		}
+		go.countDown();
+		for (Future<?> submission : submissions) {
+			submission.get(10, TimeUnit.SECONDS);
+		}
+		submitters.shutdown();
+
+		assertThat(accepted.get()).isEqualTo(3);
+		assertThat(jobs.stats().rejected()).isEqualTo(29);
+		release.countDown();
+	}
+
+	@Test
+	void spooledSubmissionHoldsItsSlotDuringTheUpload() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		JobStatus blocker = jobs.submit("blocker", JobStatus.Priority.NORMAL, progress -> release.await(10, TimeUnit.SECONDS));
+		awaitState(blocker.id(), JobStatus.State.RUNNING);
+		CountDownLatch uploading = new CountDownLatch(1);
+		CountDownLatch finishUpload = new CountDownLatch(1);
+		InputStream slowBody = new InputStream() {
+			@Override
+			public int read() throws IOException {
+				uploading.countDown();
+				try {
+					finishUpload.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException ex) {
+					throw new InterruptedIOException();
+				}
+				return -1;
+			}
+		};
+		CompletableFuture<JobStatus> upload = CompletableFuture.supplyAsync(() -> {
+			try {
+				return jobs.submit("upload", JobStatus.Priority.NORMAL, slowBody, input -> input.size());
+			} catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+		});
+		assertThat(uploading.await(5, TimeUnit.SECONDS)).isTrue();
+
+		jobs.submit("queued", JobStatus.Priority.NORMAL, progress -> null);
+		jobs.submit("queued", JobStatus.Priority.NORMAL, progress -> null);
+		assertThatThrownBy(() -> jobs.submit("overflow", JobStatus.Priority.NORMAL, progress -> null))
+				.isInstanceOf(RejectedExecutionException.class);
+
+		finishUpload.countDown();
+		release.countDown();
+		JobStatus uploaded = upload.get(5, TimeUnit.SECONDS);
+		assertThat(awaitState(uploaded.id(), JobStatus.State.SUCCEEDED).result()).isEqualTo(0L);
+	}
+
+	@Test
+	void cancelsQueuedAndRunningJobs() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		JobStatus running = jobs.submit("sleeper", JobStatus.Priority.NORMAL, progress -> {
+			started.countDown();
+			Thread.sleep(Duration.ofMinutes(1));
+			return "never";
+		});
+		JobStatus queued = jobs.submit("queued", JobStatus.Priority.NORMAL, progress -> "never");
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+		assertThat(jobs.cancel(queued.id()).state()).isEqualTo(JobStatus.State.CANCELLED);
+		jobs.cancel(running.id());
+		JobStatus cancelled = awaitState(running.id(), JobStatus.State.CANCELLED);
+		assertThat(cancelled.result()).isNull();
+
+		// the worker is free again and not left interrupted
+		JobStatus next = jobs.submit("next", JobStatus.Priority.NORMAL, progress -> {
+			Thread.sleep(10);
+			return "done";
+		});
+		assertThat(awaitState(next.id(), JobStatus.State.SUCCEEDED).result()).isEqualTo("done");
+	}
+
+	@Test
+	void cancelWhileAWorkerIsPickingTheJobUpKeepsItFromRunning() throws Exception {
+		CountDownLatch pickedUp = new CountDownLatch(1);
+		CountDownLatch proceed = new CountDownLatch(1);
+		JobService picking = new JobService(1, 3, Duration.ofMinutes(1), Duration.ofMinutes(1)) {
+			@Override
+			void beforeRun() {
+				pickedUp.countDown();
+				try {
+					proceed.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		};
+		try {
+			AtomicBoolean ran = new AtomicBoolean();
+			JobStatus job = picking.submit("picked", JobStatus.Priority.NORMAL, progress -> ran.getAndSet(true));
+			assertThat(pickedUp.await(5, TimeUnit.SECONDS)).isTrue();
+
+			assertThat(picking.cancel(job.id()).state()).isEqualTo(JobStatus.State.QUEUED);
+			proceed.countDown();
+
+			awaitState(picking, job.id(), JobStatus.State.CANCELLED);
+			assertThat(ran).isFalse();
+			assertThat(picking.stats().queued()).isZero();
+		} finally {
+			picking.shutdown();
+		}
+	}
+
+	@Test
+	void spooledJobReportsProgressAndResult() throws Exception {
+		ByteBuffer packed = ByteBuffer.allocate(4 * 100_000).order(ByteOrder.LITTLE_ENDIAN);
+		for (int i = 1; i <= 100_000; i++) {
+			packed.putInt(i);
+		}
+		NumericAnalyticsService analytics = new NumericAnalyticsService(1_000_000);
+		JobStatus submitted = jobs.submit("streams/sum", JobStatus.Priority.NORMAL,
+				new ByteArrayInputStream(packed.array()),
+				input -> analytics.summarize(input, NumericAnalyticsService.Encoding.INT32_LE));
+
+		JobStatus done = awaitState(submitted.id(), JobStatus.State.SUCCEEDED);
+		assertThat(done.progress()).isEqualTo(1.0);
+		assertThat(((NumericSummary) done.result()).sum()).isEqualTo(5_000_050_000L);
+	}
+
+	@Test
+	void failedJobKeepsItsError() throws Exception {
+		JobStatus submitted = jobs.submit("broken", JobStatus.Priority.NORMAL, progress -> {
+			throw new IllegalArgumentException("bad input");
+		});
+		assertThat(awaitState(submitted.id(), JobStatus.State.FAILED).error()).contains("bad input");
+	}
+
+	@Test
+	void anyErrorFailsTheJob() throws Exception {
+		JobStatus submitted = jobs.submit("linkage", JobStatus.Priority.NORMAL, progress -> {
+			throw new NoClassDefFoundError("com/example/Missing");
+		});
+		assertThat(awaitState(submitted.id(), JobStatus.State.FAILED).error()).contains("com/example/Missing");
+	}
+
+	@Test
+	void shutdownDeletesSpoolFilesOfQueuedJobs() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		JobStatus blocker = jobs.submit("blocker", JobStatus.Priority.NORMAL, progress -> release.await(10, TimeUnit.SECONDS));
+		awaitState(blocker.id(), JobStatus.State.RUNNING);
+		Set<Path> before = spoolFiles();
+		JobStatus queued = jobs.submit("upload", JobStatus.Priority.NORMAL,
+				new ByteArrayInputStream(new byte[1024]), input -> input.size());
+		Set<Path> spooled = spoolFiles();
+		spooled.removeAll(before);
+		assertThat(spooled).hasSize(1);
+
+		jobs.shutdown();
+
+		assertThat(jobs.status(queued.id()).state()).isEqualTo(JobStatus.State.CANCELLED);
+		assertThat(spooled.iterator().next()).doesNotExist();
+	}
+
+	private static Set<Path> spoolFiles() throws IOException {
+		try (Stream<Path> files = Files.list(Path.of(System.getProperty("java.io.tmpdir")))) {
+			return files.filter(file -> file.getFileName().toString().matches("job-.*\\.in"))
+					.collect(Collectors.toCollection(HashSet::new));
+		}
+	}
+
+	private JobStatus awaitState(String id, JobStatus.State state) throws InterruptedException {
+		return awaitState(jobs, id, state);
+	}
+
+	private static JobStatus awaitState(JobService jobs, String id, JobStatus.State state) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		JobStatus status = jobs.status(id);
+		while (status.state() != state && System.nanoTime() < deadline) {
+			Thread.sleep(5);
+			status = jobs.status(id);
+		}
+		assertThat(status.state()).isEqualTo(state);
+		return status;
+	}
+}
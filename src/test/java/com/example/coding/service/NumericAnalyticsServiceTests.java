@@ -0,0 +1,77 @@
+package com.example.coding.service;
+
+import com.example.coding.model.NumericSummary;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NumericAnalyticsServiceTests {
+
+	@Test
+	void summarizesSmallInput() {
+		NumericSummary summary = new NumericAnalyticsService(1_000).summarize(new int[]{1, 2, 3, 4, 5, 20});
+		assertThat(summary).isEqualTo(new NumericSummary(6, 35, 26, BigInteger.valueOf(455), 20L));
+	}
+
+	@Test
+	void emptyInputHasNoMax() {
+		assertThat(new NumericAnalyticsService(1_000).summarize(new int[0]).max()).isNull();
+	}
+
+	@Test
+	void parallelPathMatchesSequentialPath() {
+		int[] values = IntStream.range(-500_000, 500_000).map(i -> i * 7).toArray();
+		NumericSummary parallel = new NumericAnalyticsService(1).summarize(values);
+		NumericSummary sequential = new NumericAnalyticsService(Integer.MAX_VALUE).summarize(values);
+		assertThat(parallel).isEqualTo(sequential);
+	}
+
+	@Test
+	void sumOfSquaresDoesNotOverflow() {
+		long[] values = {Long.MAX_VALUE, Long.MIN_VALUE + 1, 3};
+		BigInteger expected = BigInteger.valueOf(Long.MAX_VALUE).pow(2).multiply(BigInteger.TWO).add(BigInteger.valueOf(9));
+		assertThat(new NumericAnalyticsService(1_000).summarize(values).sumOfSquares()).isEqualTo(expected);
+	}
+
+	@Test
+	void streamedInt32MatchesArraySummary() throws IOException {
+		int[] values = IntStream.range(0, 10_001).map(i -> i % 2 == 0 ? i : -i).toArray();
+		ByteBuffer packed = ByteBuffer.allocate(values.length * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+		for (int value : values) {
+			packed.putInt(value);
+		}
+		NumericAnalyticsService service = new NumericAnalyticsService(1_000);
+		NumericSummary streamed = service.summarize(channel(packed.array()), NumericAnalyticsService.Encoding.INT32_LE);
+		assertThat(streamed).isEqualTo(service.summarize(values));
+	}
+
+	@Test
+	void streamedTextAcceptsNewlinesAndCommas() throws IOException {
+		byte[] text = "1\n2\r\n-3, 4\n\n20".getBytes(StandardCharsets.US_ASCII);
+		NumericSummary summary = new NumericAnalyticsService(1_000)
+				.summarize(channel(text), NumericAnalyticsService.Encoding.forContentType("text/plain;charset=UTF-8"));
+		assertThat(summary).isEqualTo(new NumericSummary(5, 24, 26, BigInteger.valueOf(430), 20L));
+	}
+
+	@Test
+	void truncatedBinaryInputIsRejected() {
+		assertThatThrownBy(() -> new NumericAnalyticsService(1_000)
+				.summarize(channel(new byte[]{1, 0, 0, 0, 2, 0}), NumericAnalyticsService.Encoding.INT32_LE))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static ReadableByteChannel channel(byte[] bytes) {
+		return Channels.newChannel(new ByteArrayInputStream(bytes));
+	}
+}
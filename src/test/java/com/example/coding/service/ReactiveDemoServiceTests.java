@@ -0,0 +1,98 @@
+package com.example.coding.service;
+
+import com.example.coding.model.DemoModel;
+import com.example.coding.stub.UpstreamStub;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+		"app.store.enabled=false",
+		"app.cache.ttl-seconds=0",
+		"app.episode.batch-size=10",
+		"app.episode.max-concurrent-batches=2",
+		"app.episode.deadline-ms=1000"
+})
+@ActiveProfiles("h2")
+class ReactiveDemoServiceTests {
+
+	static final UpstreamStub stub = startStub();
+
+	@Autowired
+	ReactiveDemoService demoService;
+
+	@DynamicPropertySource
+	static void upstream(DynamicPropertyRegistry registry) {
+		registry.add("app.http.base-url", stub::baseUrl);
+	}
+
+	@AfterAll
+	static void stopStub() {
+		stub.close();
+	}
+
+	@BeforeEach
+	void reset() {
+		stub.reset();
+	}
+
+	@Test
+	void episodeResolvesCharacterNamesInOrder() {
+		stub.setCharactersPerEpisode(35);
+		// later batches answer first; flatMapSequential must still reassemble them in order
+		stub.setLatency((path, attempt) -> path.startsWith("/api/character/1,") ? Duration.ofMillis(200) : Duration.ZERO);
+
+		DemoModel episode = demoService.episode(3).block();
+
+		assertThat(episode.getName()).isEqualTo("Episode 3");
+		assertThat(episode.getCharacters()).containsExactlyElementsOf(
+				IntStream.rangeClosed(1, 35).mapToObj(id -> "Character " + id).toList());
+	}
+
+	@Test
+	void episodeLargerThanTheCodecBufferLimitIsStreamed() {
+		// about 40 bytes per character URL, well past the 256KB in-memory codec limit
+		stub.setCharactersPerEpisode(10_000);
+
+		DemoModel episode = demoService.fetchDemoEpisode(6).block();
+
+		assertThat(episode.getCharacterIds()).hasSize(10_000).startsWith(1, 2, 3).endsWith(10_000);
+	}
+
+	@Test
+	void clientErrorsPassThroughAsRestClientExceptions() {
+		assertThatThrownBy(() -> demoService.fetchDemoEpisode(999).block())
+				.isInstanceOf(HttpClientErrorException.NotFound.class);
+	}
+
+	@Test
+	void slowFanOutTimesOut() {
+		stub.setLatency((path, attempt) -> path.startsWith("/api/character/") ? Duration.ofMillis(1500) : Duration.ZERO);
+
+		assertThatThrownBy(() -> demoService.episode(4).block())
+				.hasCauseInstanceOf(TimeoutException.class);
+	}
+
+	private static UpstreamStub startStub() {
+		try {
+			return UpstreamStub.start();
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+}
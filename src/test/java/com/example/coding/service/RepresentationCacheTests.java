@@ -0,0 +1,189 @@
+package com.example.coding.service;
+
+import com.example.coding.model.DemoModel;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RepresentationCacheTests {
+
+	private final AtomicLong nanos = new AtomicLong();
+	private final UpstreamCache upstream = new UpstreamCache(100, 60, 3600, nanos::get);
+	private final RepresentationCache representations = new RepresentationCache(new ObjectMapper(), upstream, 100, 600,
+			DataSize.ofBytes(256), nanos::get);
+
+	@Test
+	void servesRepeatGetsWithoutCallingTheLoader() {
+		AtomicInteger loads = new AtomicInteger();
+		RepresentationCache.Variants first = representations.get("episode", 1, sources -> {
+			loads.incrementAndGet();
+			return model("Pilot");
+		});
+		RepresentationCache.Variants second = representations.get("episode", 1, sources -> {
+			loads.incrementAndGet();
+			return model("Pilot");
+		});
+
+		assertThat(loads).hasValue(1);
+		assertThat(second).isSameAs(first);
+		assertThat(new String(first.identity().body(), StandardCharsets.UTF_8)).contains("\"name\":\"Pilot\"");
+		assertThat(representations.stats()).isEqualTo(new RepresentationCache.Stats(1, 1, 1));
+	}
+
+	@Test
+	void etagIsStrongAndFollowsContent() {
+		String pilot = representations.get("episode", 1, sources -> model("Pilot")).identity().etag();
+		String samePilot = representations.get("fetch", 1, sources -> model("Pilot")).identity().etag();
+		String other = representations.get("episode", 2, sources -> model("Lawnmower Dog")).identity().etag();
+
+		assertThat(pilot).matches("\"[0-9a-f]{32}\"");
+		assertThat(samePilot).isEqualTo(pilot);
+		assertThat(other).isNotEqualTo(pilot);
+	}
+
+	@Test
+	void invalidateAllRebuildsFromTheLoader() {
+		String before = representations.get("episode", 1, sources -> model("Pilot")).identity().etag();
+		representations.invalidateAll();
+		String after = representations.get("episode", 1, sources -> model("Pilot (renamed)")).identity().etag();
+
+		assertThat(after).isNotEqualTo(before);
+	}
+
+	@Test
+	void largeBodiesGetAGzipVariantWithItsOwnEtag() throws IOException {
+		RepresentationCache.Variants small = representations.get("episode", 1, sources -> model("Pilot"));
+		RepresentationCache.Variants large = representations.get("episode", 2, sources -> model("x".repeat(1_000)));
+
+		assertThat(small.gzip()).isNull();
+		assertThat(small.select("gzip, deflate, br")).isSameAs(small.identity());
+		assertThat(large.select("gzip, deflate, br")).isSameAs(large.gzip());
+		assertThat(large.select("gzip;q=0, identity")).isSameAs(large.identity());
+		assertThat(large.select(null)).isSameAs(large.identity());
+		assertThat(large.gzip().etag()).isNotEqualTo(large.identity().etag()).doesNotStartWith("W/");
+		assertThat(large.gzip().contentEncoding()).isEqualTo("gzip");
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(large.gzip().body()))) {
+			assertThat(in.readAllBytes()).isEqualTo(large.identity().body());
+		}
+	}
+
+	@Test
+	void expiresWithTheUpstreamValueItWasBuiltFrom() {
+		upstream.get(UpstreamCache.Resource.EPISODE, 1, id -> model("Pilot"));
+		nanos.addAndGet(TimeUnit.SECONDS.toNanos(50));
+		AtomicInteger loads = new AtomicInteger();
+		RepresentationCache.Loader<RuntimeException> loader = sources -> {
+			loads.incrementAndGet();
+			sources.add(UpstreamCache.Resource.EPISODE, 1);
+			return upstream.get(UpstreamCache.Resource.EPISODE, 1, id -> model("Pilot"));
+		};
+		representations.get("episode", 1, loader);
+		nanos.addAndGet(TimeUnit.SECONDS.toNanos(9));
+		representations.get("episode", 1, loader);
+		assertThat(loads).hasValue(1);
+
+		// 60s after the upstream load, although the representation itself is only 11s old
+		nanos.addAndGet(TimeUnit.SECONDS.toNanos(2));
+		representations.get("episode", 1, loader);
+		assertThat(loads).hasValue(2);
+	}
+
+	@Test
+	void replacingAnUpstreamValueDropsRepresentationsBuiltFromIt() {
+		upstream.get(UpstreamCache.Resource.CHARACTER, 7, id -> model("Rick"));
+		String before = representations.get("episode", 1, sources -> {
+			sources.add(UpstreamCache.Resource.CHARACTER, 7);
+			return upstream.get(UpstreamCache.Resource.CHARACTER, 7, id -> model("unused"));
+		}).identity().etag();
+
+		upstream.put(UpstreamCache.Resource.CHARACTER, 7, model("Rick (renamed)"));
+		String after = representations.get("episode", 1, sources -> {
+			sources.add(UpstreamCache.Resource.CHARACTER, 7);
+			return upstream.get(UpstreamCache.Resource.CHARACTER, 7, id -> model("unused"));
+		}).identity().etag();
+
+		assertThat(after).isNotEqualTo(before);
+	}
+
+	@Test
+	void bodiesBuiltFromStaleValuesAreNotKept() {
+		upstream.get(UpstreamCache.Resource.EPISODE, 1, id -> model("Pilot"));
+		nanos.addAndGet(TimeUnit.SECONDS.toNanos(61));
+		AtomicInteger loads = new AtomicInteger();
+		RepresentationCache.Loader<RuntimeException> fromStale = sources -> {
+			loads.incrementAndGet();
+			sources.add(UpstreamCache.Resource.EPISODE, 1);
+			return upstream.getStale(UpstreamCache.Resource.EPISODE, 1);
+		};
+
+		RepresentationCache.Variants served = representations.get("episode", 1, fromStale);
+		representations.get("episode", 1, fromStale);
+
+		assertThat(new String(served.identity().body(), StandardCharsets.UTF_8)).contains("\"name\":\"Pilot\"");
+		assertThat(loads).hasValue(2);
+		assertThat(representations.stats().size()).isZero();
+	}
+
+	@Test
+	void changesToOtherUpstreamValuesDuringABuildDoNotDropIt() {
+		upstream.get(UpstreamCache.Resource.CHARACTER, 7, id -> model("Rick"));
+		AtomicInteger loads = new AtomicInteger();
+		RepresentationCache.Loader<RuntimeException> loader = sources -> {
+			loads.incrementAndGet();
+			sources.add(UpstreamCache.Resource.CHARACTER, 7);
+			DemoModel rick = upstream.get(UpstreamCache.Resource.CHARACTER, 7, id -> model("unused"));
+			// churn elsewhere in the upstream cache while this body is being built
+			upstream.put(UpstreamCache.Resource.CHARACTER, 8, model("Morty"));
+			upstream.put(UpstreamCache.Resource.CHARACTER, 8, model("Morty (renamed)"));
+			return rick;
+		};
+
+		representations.get("episode", 1, loader);
+		representations.get("episode", 1, loader);
+
+		assertThat(loads).hasValue(1);
+	}
+
+	@Test
+	void aSourceChangingDuringTheBuildIsNotKept() {
+		upstream.get(UpstreamCache.Resource.CHARACTER, 7, id -> model("Rick"));
+		AtomicInteger loads = new AtomicInteger();
+		RepresentationCache.Loader<RuntimeException> loader = sources -> {
+			sources.add(UpstreamCache.Resource.CHARACTER, 7);
+			DemoModel rick = upstream.get(UpstreamCache.Resource.CHARACTER, 7, id -> model("unused"));
+			if (loads.incrementAndGet() == 1) {
+				upstream.put(UpstreamCache.Resource.CHARACTER, 7, model("Rick (renamed)"));
+				// a concurrent build of the same body after the change registers its source again
+				representations.get("episode", 1, ignored -> {
+					ignored.add(UpstreamCache.Resource.CHARACTER, 7);
+					return upstream.get(UpstreamCache.Resource.CHARACTER, 7, id -> model("unused"));
+				});
+			}
+			return rick;
+		};
+
+		String first = new String(representations.get("episode", 1, loader).identity().body(), StandardCharsets.UTF_8);
+		String next = new String(representations.get("episode", 1, loader).identity().body(), StandardCharsets.UTF_8);
+
+		assertThat(first).contains("\"Rick\"");
+		// the stale build neither stays cached nor displaces the one built after the change
+		assertThat(next).contains("Rick (renamed)");
+		assertThat(loads).hasValue(1);
+	}
+
+	private static DemoModel model(String name) {
+		DemoModel model = new DemoModel();
+		model.setName(name);
+		return model;
+	}
+}
@@ -0,0 +1,67 @@
+package com.example.coding.service;
+
+import com.example.coding.design.StreamingNotSupportedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TemplateRunnerServiceTests {
+
+	@TempDir
+	Path root;
+
+	@Test
+	void readsFilesInsideTheInputDirectory() throws IOException {
+		Path inputs = Files.createDirectory(root.resolve("inputs"));
+		Files.writeString(inputs.resolve("level.txt"), "level");
+
+		assertThat(runner(inputs).runDsaFile("Palindrome", "level.txt")).endsWith("-> true");
+	}
+
+	@Test
+	void rejectsPathsAndSymlinksLeadingOutOfTheInputDirectory() throws IOException {
+		Path inputs = Files.createDirectory(root.resolve("inputs"));
+		Path secret = Files.writeString(root.resolve("secret.txt"), "abba");
+		Files.createSymbolicLink(inputs.resolve("link.txt"), secret);
+		TemplateRunnerService runner = runner(inputs);
+
+		assertThatThrownBy(() -> runner.runDsaFile("Palindrome", "../secret.txt"))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> runner.runDsaFile("Palindrome", "link.txt"))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("must be inside");
+	}
+
+	@Test
+	void rejectsDirectoriesAndDisabledInput() throws IOException {
+		Path inputs = Files.createDirectory(root.resolve("inputs"));
+		Files.createDirectory(inputs.resolve("nested"));
+
+		assertThatThrownBy(() -> runner(inputs).runDsaFile("Palindrome", "nested"))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("Not a regular file");
+		assertThatThrownBy(() -> new TemplateRunnerService("", new SimpleMeterRegistry()).runDsaFile("Palindrome", "x"))
+				.isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void rejectsStreamingInputForAlgorithmsThatOnlyRunInMemory() throws IOException {
+		Path inputs = Files.createDirectory(root.resolve("inputs"));
+		Files.writeString(inputs.resolve("numbers.txt"), "0, 3, 0, 1, 12");
+
+		assertThatThrownBy(() -> runner(inputs).runDsaFile("ArrayNonZero", "numbers.txt"))
+				.isInstanceOf(StreamingNotSupportedException.class)
+				.hasMessage("ArrayNonZero does not support streaming input");
+	}
+
+	private static TemplateRunnerService runner(Path inputDir) {
+		return new TemplateRunnerService(inputDir.toString(), new SimpleMeterRegistry());
+	}
+}
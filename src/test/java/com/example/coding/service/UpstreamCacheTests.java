@@ -0,0 +1,199 @@
+package com.example.coding.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static com.example.coding.service.UpstreamCache.Resource.CHARACTER;
+import static com.example.coding.service.UpstreamCache.Resource.EPISODE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UpstreamCacheTests {
+
+	private final AtomicLong nanos = new AtomicLong();
+	private final UpstreamCache cache = new UpstreamCache(100, 60, 3600, nanos::get);
+
+	@Test
+	void concurrentMissesShareOneLoad() throws Exception {
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger loads = new AtomicInteger();
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			Future<String> first = executor.submit(() -> cache.get(EPISODE, 1, id -> {
+				loads.incrementAndGet();
+				loading.countDown();
+				await(release);
+				return "Pilot";
+			}));
+			assertThat(loading.await(10, TimeUnit.SECONDS)).isTrue();
+			Future<String> second = executor.submit(() -> cache.get(EPISODE, 1, id -> {
+				loads.incrementAndGet();
+				return "other";
+			}));
+			// the second caller finds the in-flight future: a hit, or coalesced if it raced the first
+			waitUntil(() -> cache.stats().hits() + cache.stats().coalesced() == 1);
+			release.countDown();
+
+			assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo("Pilot");
+			assertThat(second.get(10, TimeUnit.SECONDS)).isEqualTo("Pilot");
+		}
+		assertThat(loads).hasValue(1);
+		assertThat(cache.stats().misses()).isEqualTo(1);
+	}
+
+	@Test
+	void entriesExpireAfterTheTtl() {
+		AtomicInteger loads = new AtomicInteger();
+		cache.get(EPISODE, 1, id -> "v" + loads.incrementAndGet());
+		nanos.addAndGet(Duration.ofSeconds(59).toNanos());
+		assertThat(cache.<String>get(EPISODE, 1, id -> "v" + loads.incrementAndGet())).isEqualTo("v1");
+
+		nanos.addAndGet(Duration.ofSeconds(2).toNanos());
+		assertThat(cache.<String>get(EPISODE, 1, id -> "v" + loads.incrementAndGet())).isEqualTo("v2");
+		assertThat(cache.<String>getStale(EPISODE, 1)).isEqualTo("v2");
+	}
+
+	@Test
+	void getAllLoadsOnlyTheMissingIdsInOrder() {
+		cache.put(CHARACTER, 2, "Morty");
+		AtomicReference<List<Integer>> requested = new AtomicReference<>();
+
+		Map<Integer, String> names = cache.getAll(CHARACTER, List.of(3, 2, 1, 3), ids -> {
+			requested.set(ids);
+			return ids.stream().collect(Collectors.toMap(id -> id, id -> "Rick " + id));
+		});
+
+		assertThat(requested.get()).containsExactly(3, 1);
+		assertThat(names).containsExactly(Map.entry(3, "Rick 3"), Map.entry(2, "Morty"), Map.entry(1, "Rick 1"));
+		assertThat(cache.stats().hits()).isEqualTo(1);
+		assertThat(cache.stats().misses()).isEqualTo(2);
+	}
+
+	@Test
+	void getAllFailsIdsTheUpstreamDidNotReturnAndRetriesThemLater() {
+		assertThatThrownBy(() -> cache.getAll(CHARACTER, List.of(1, 2), ids -> Map.of(1, "Rick")))
+				.isInstanceOf(UpstreamNotFoundException.class)
+				.hasMessageContaining("not found upstream");
+
+		Map<Integer, String> names = cache.getAll(CHARACTER, List.of(1, 2), ids -> {
+			assertThat(ids).containsExactly(2);
+			return Map.of(2, "Morty");
+		});
+		assertThat(names).containsExactly(Map.entry(1, "Rick"), Map.entry(2, "Morty"));
+	}
+
+	@Test
+	void anErrorInTheLoaderDoesNotStrandTheEntry() {
+		assertThatThrownBy(() -> cache.get(EPISODE, 1, id -> {
+			throw new StackOverflowError();
+		})).isInstanceOf(StackOverflowError.class);
+
+		assertThat(cache.<String>get(EPISODE, 1, id -> "Pilot")).isEqualTo("Pilot");
+	}
+
+	@Test
+	void nothingUpstreamFailsEveryWaiterAsNotFoundAndIsNotCached() throws Exception {
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			Future<String> first = executor.submit(() -> cache.get(EPISODE, 404, id -> {
+				loading.countDown();
+				await(release);
+				return null;
+			}));
+			assertThat(loading.await(10, TimeUnit.SECONDS)).isTrue();
+			Future<String> second = executor.submit(() -> cache.get(EPISODE, 404, id -> "other"));
+			waitUntil(() -> cache.stats().hits() + cache.stats().coalesced() == 1);
+			release.countDown();
+
+			for (Future<String> caller : List.of(first, second)) {
+				assertThatThrownBy(() -> caller.get(10, TimeUnit.SECONDS))
+						.hasCauseInstanceOf(UpstreamNotFoundException.class)
+						.hasMessageContaining("EPISODE 404 not found upstream");
+			}
+		}
+		assertThat(cache.<String>getStale(EPISODE, 404)).isNull();
+		assertThat(cache.<String>get(EPISODE, 404, id -> "Pilot")).isEqualTo("Pilot");
+	}
+
+	@Test
+	void nothingUpstreamFailsAnAsyncLoadAsNotFound() {
+		assertThat(cache.getAsync(EPISODE, 404, id -> CompletableFuture.completedFuture(null)))
+				.failsWithin(Duration.ofSeconds(10))
+				.withThrowableOfType(ExecutionException.class)
+				.withCauseInstanceOf(UpstreamNotFoundException.class);
+
+		assertThat(cache.getAsync(EPISODE, 404, id -> CompletableFuture.completedFuture("Pilot")))
+				.succeedsWithin(Duration.ofSeconds(10)).isEqualTo("Pilot");
+		assertThat(cache.<String>getStale(EPISODE, 404)).isEqualTo("Pilot");
+	}
+
+	@Test
+	void puttingNullDropsTheFreshEntry() {
+		cache.put(EPISODE, 1, "Pilot");
+		cache.put(EPISODE, 1, null);
+
+		assertThat(cache.<String>get(EPISODE, 1, id -> "Pilot (reloaded)")).isEqualTo("Pilot (reloaded)");
+	}
+
+	@Test
+	void renewRestartsTheTtlWithoutInvalidating() {
+		List<UpstreamCache.Key> invalidated = new ArrayList<>();
+		cache.addInvalidationListener(invalidated::add);
+		cache.put(EPISODE, 1, "Pilot");
+		nanos.addAndGet(Duration.ofSeconds(50).toNanos());
+
+		assertThat(cache.renew(EPISODE, List.of(1))).isTrue();
+		nanos.addAndGet(Duration.ofSeconds(50).toNanos());
+		assertThat(cache.<String>get(EPISODE, 1, id -> "reloaded")).isEqualTo("Pilot");
+		assertThat(invalidated).isEmpty();
+
+		// past the TTL the value is cached again from the stale tier
+		nanos.addAndGet(Duration.ofSeconds(61).toNanos());
+		assertThat(cache.renew(EPISODE, List.of(1))).isTrue();
+		assertThat(cache.<String>get(EPISODE, 1, id -> "reloaded")).isEqualTo("Pilot");
+		assertThat(cache.stats().misses()).isZero();
+	}
+
+	@Test
+	void renewReportsIdsThatLeftTheStaleTier() {
+		cache.put(EPISODE, 1, "Pilot");
+		nanos.addAndGet(Duration.ofSeconds(3601).toNanos());
+		cache.put(EPISODE, 2, "Lawnmower Dog");
+
+		assertThat(cache.renew(EPISODE, List.of(1, 2))).isFalse();
+		assertThat(cache.<String>get(EPISODE, 1, id -> "reloaded")).isEqualTo("reloaded");
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(10, TimeUnit.SECONDS);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+		assertThat(condition.getAsBoolean()).isTrue();
+	}
+}
@@ -0,0 +1,171 @@
+package com.example.coding.service;
+
+import com.example.coding.model.DemoModel;
+import com.example.coding.stub.UpstreamStub;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+		"app.store.enabled=false",
+		"app.cache.ttl-seconds=0",
+		"resilience4j.circuitbreaker.configs.default.sliding-window-size=4",
+		"resilience4j.circuitbreaker.configs.default.minimum-number-of-calls=4",
+		"resilience4j.circuitbreaker.configs.default.wait-duration-in-open-state=1m",
+		"resilience4j.bulkhead.instances.episode.max-concurrent-calls=2",
+		"resilience4j.bulkhead.instances.episode.max-wait-duration=0",
+		"app.upstream.hedge-delay.character=100ms"
+})
+@ActiveProfiles("h2")
+class UpstreamResilienceTests {
+
+	static final UpstreamStub stub = startStub();
+
+	@Autowired
+	DemoService demoService;
+
+	@Autowired
+	CircuitBreakerRegistry circuitBreakers;
+
+	@Autowired
+	BulkheadRegistry bulkheads;
+
+	@Autowired
+	UpstreamGuard upstreamGuard;
+
+	@DynamicPropertySource
+	static void upstream(DynamicPropertyRegistry registry) {
+		registry.add("app.http.base-url", stub::baseUrl);
+	}
+
+	@AfterAll
+	static void stopStub() {
+		stub.close();
+	}
+
+	@BeforeEach
+	void reset() {
+		stub.reset();
+		circuitBreakers.getAllCircuitBreakers().forEach(circuitBreaker -> circuitBreaker.reset());
+	}
+
+	@Test
+	void openCircuitServesStaleDataWithoutCallingUpstream() {
+		assertThat(demoService.fetchDemoEpisode(1).getName()).isEqualTo("Episode 1");
+
+		stub.failWith(500);
+		for (int i = 0; i < 4; i++) {
+			assertThat(demoService.fetchDemoEpisode(1).getName()).isEqualTo("Episode 1");
+		}
+		int upstreamCalls = stub.hits("/api/episode/1");
+
+		assertThat(demoService.fetchDemoEpisode(1).getName()).isEqualTo("Episode 1");
+		assertThat(stub.hits("/api/episode/1")).isEqualTo(upstreamCalls);
+		assertThatThrownBy(() -> demoService.fetchDemoEpisode(2)).isInstanceOf(CallNotPermittedException.class);
+	}
+
+	@Test
+	void bulkheadRejectsCallsBeyondItsConcurrencyLimit() throws InterruptedException {
+		stub.setLatency((path, attempt) -> Duration.ofMillis(500));
+		List<Future<DemoModel>> calls = new ArrayList<>();
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int id = 10; id < 14; id++) {
+				int episode = id;
+				calls.add(executor.submit(() -> demoService.fetchDemoEpisode(episode)));
+			}
+		}
+
+		int succeeded = 0;
+		int rejected = 0;
+		for (Future<DemoModel> call : calls) {
+			try {
+				call.get();
+				succeeded++;
+			} catch (ExecutionException ex) {
+				assertThat(ex.getCause()).isInstanceOf(BulkheadFullException.class);
+				rejected++;
+			}
+		}
+		assertThat(succeeded).isEqualTo(2);
+		assertThat(rejected).isEqualTo(2);
+	}
+
+	@Test
+	void slowRequestIsHedged() {
+		stub.setLatency((path, attempt) -> attempt == 1 ? Duration.ofMillis(1500) : Duration.ZERO);
+
+		long start = System.nanoTime();
+		assertThat(demoService.fetchDemoEpisodeName(7).getName()).isEqualTo("Character 7");
+
+		assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(1000));
+		assertThat(stub.hits("/api/character/7")).isEqualTo(2);
+	}
+
+	@Test
+	void hedgeLoserReturnsItsBulkheadPermitPromptly() throws InterruptedException {
+		stub.setLatency((path, attempt) -> attempt == 1 ? Duration.ofSeconds(3) : Duration.ZERO);
+		Bulkhead bulkhead = bulkheads.bulkhead("character");
+		int permits = bulkhead.getBulkheadConfig().getMaxConcurrentCalls();
+
+		assertThat(demoService.fetchDemoEpisodeName(8).getName()).isEqualTo("Character 8");
+
+		long deadline = System.nanoTime() + Duration.ofMillis(1000).toNanos();
+		while (bulkhead.getMetrics().getAvailableConcurrentCalls() < permits && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		assertThat(bulkhead.getMetrics().getAvailableConcurrentCalls()).isEqualTo(permits);
+	}
+
+	@Test
+	void onlyTransportAndCapacityFailuresCountAsUnavailable() {
+		assertThat(upstreamGuard.isUnavailable(new ResourceAccessException("connection refused"))).isTrue();
+		assertThat(upstreamGuard.isUnavailable(HttpServerErrorException.create(HttpStatus.BAD_GATEWAY, "", null, null, null)))
+				.isTrue();
+		assertThat(upstreamGuard.isUnavailable(new CompletionException(new TimeoutException()))).isTrue();
+		assertThat(upstreamGuard.isUnavailable(BulkheadFullException.createBulkheadFullException(
+				bulkheads.bulkhead("character")))).isTrue();
+
+		assertThat(upstreamGuard.isUnavailable(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "", null, null, null)))
+				.isFalse();
+		assertThat(upstreamGuard.isUnavailable(new UpstreamNotFoundException(UpstreamCache.Resource.CHARACTER, 9))).isFalse();
+		assertThat(upstreamGuard.isUnavailable(new RestClientException("Malformed episode 1 from upstream"))).isFalse();
+	}
+
+	private static UpstreamStub startStub() {
+		try {
+			return UpstreamStub.start();
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+}
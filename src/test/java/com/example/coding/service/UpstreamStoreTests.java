@@ -0,0 +1,94 @@
+package com.example.coding.service;
+
+import com.example.coding.model.DemoEpisode;
+import com.example.coding.model.DemoModel;
+import com.example.coding.repository.DemoRrepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "app.store.flush-interval=1h")
+@ActiveProfiles("h2")
+class UpstreamStoreTests {
+
+	@Autowired
+	UpstreamStore store;
+
+	@Autowired
+	DemoRrepository episodes;
+
+	@Test
+	void fetchedEpisodeIsWrittenBehindAndThenServedLocally() {
+		AtomicInteger upstreamCalls = new AtomicInteger();
+		DemoModel fetched = store.episode(101, id -> {
+			upstreamCalls.incrementAndGet();
+			return episode(id);
+		});
+		assertThat(fetched.getName()).isEqualTo("Episode 101");
+
+		store.flush();
+
+		DemoModel local = store.episode(101, id -> {
+			throw new AssertionError("upstream called for a stored episode");
+		});
+		assertThat(upstreamCalls).hasValue(1);
+		assertThat(local.getName()).isEqualTo("Episode 101");
+		assertThat(local.getCharacterIds()).containsExactly(1, 2, 3);
+	}
+
+	@Test
+	void bulkLookupOnlyFetchesMissingCharacters() {
+		store.characters(List.of(201, 202), UpstreamStoreTests::characters);
+		store.flush();
+
+		List<Integer> requested = new ArrayList<>();
+		Map<Integer, DemoEpisode> result = store.characters(List.of(201, 202, 203), missing -> {
+			requested.addAll(missing);
+			return characters(missing);
+		});
+
+		assertThat(requested).containsExactly(203);
+		assertThat(result).containsOnlyKeys(201, 202, 203);
+		assertThat(result.get(201).getName()).isEqualTo("Character 201");
+	}
+
+	@Test
+	void duplicateQueuedRowsAreInsertedOnce() {
+		store.episode(301, UpstreamStoreTests::episode);
+		store.episode(301, UpstreamStoreTests::episode);
+		store.flush();
+		store.episode(302, UpstreamStoreTests::episode);
+		store.flush();
+
+		assertThat(episodes.findExistingIds(List.of(301, 302))).containsExactlyInAnyOrder(301, 302);
+		assertThat(store.stats().dropped()).isZero();
+	}
+
+	private static DemoModel episode(Integer id) {
+		DemoModel model = new DemoModel();
+		model.setId(id);
+		model.setName("Episode " + id);
+		model.setCharacterIds(new int[]{1, 2, 3});
+		return model;
+	}
+
+	private static Map<Integer, DemoEpisode> characters(List<Integer> ids) {
+		Map<Integer, DemoEpisode> byId = new HashMap<>();
+		for (Integer id : ids) {
+			DemoEpisode character = new DemoEpisode();
+			character.setId(id);
+			character.setName("Character " + id);
+			byId.put(id, character);
+		}
+		return byId;
+	}
+}
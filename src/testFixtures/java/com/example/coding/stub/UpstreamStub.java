@@ -0,0 +1,221 @@
+package com.example.coding.stub;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for rickandmortyapi.com with injectable latency and failures. Serves
+ * {@code /api/episode/{id}}, {@code /api/character/{id}}, {@code /api/character/{id,id,...}} and
+ * the paged listings {@code /api/episode?page=n} and {@code /api/character?page=n}, which carry
+ * an ETag and honour {@code If-None-Match}. Shared by the tests and the loadTest harness.
+ */
+public class UpstreamStub implements AutoCloseable {
+
+    private static final int PAGE_SIZE = 20;
+
+    /** Delay before answering the {@code attempt}-th (1-based) request for {@code path}. */
+    @FunctionalInterface
+    public interface Latency {
+        Duration delay(String path, int attempt);
+
+        static Latency fixed(Duration delay) {
+            return (path, attempt) -> delay;
+        }
+
+        /**
+         * Log-normal delays around {@code median}; {@code sigma} 0.5 puts p99 near 3.2x the median.
+         * Each delay is drawn from {@code seed}, the path and the attempt alone, so a run sees the
+         * same delays however its requests interleave.
+         */
+        static Latency logNormal(Duration median, double sigma, long seed) {
+            double medianNanos = median.toNanos();
+            return (path, attempt) -> {
+                SplittableRandom random = new SplittableRandom(seed ^ (31L * path.hashCode() + attempt));
+                // Box-Muller from two uniforms in (0, 1]
+                double gaussian = Math.sqrt(-2 * Math.log(1 - random.nextDouble()))
+                        * Math.cos(2 * Math.PI * random.nextDouble());
+                return Duration.ofNanos((long) (medianNanos * Math.exp(sigma * gaussian)));
+            };
+        }
+    }
+
+    private final HttpServer server;
+    private final Map<String, AtomicInteger> hits = new ConcurrentHashMap<>();
+    private volatile Latency latency = (path, attempt) -> Duration.ZERO;
+    private volatile int failureStatus;
+    private volatile int charactersPerEpisode = 5;
+    private volatile int episodeCount = 51;
+    private volatile int characterCount = 826;
+    private volatile String characterPadding = "";
+
+    private UpstreamStub(HttpServer server) {
+        this.server = server;
+    }
+
+    public static UpstreamStub start() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        UpstreamStub stub = new UpstreamStub(server);
+        server.createContext("/api/", stub::handle);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+        return stub;
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+    }
+
+    public void setLatency(Latency latency) {
+        this.latency = latency;
+    }
+
+    /** Every request answers with {@code status} until {@link #reset()}. */
+    public void failWith(int status) {
+        this.failureStatus = status;
+    }
+
+    public void setCharactersPerEpisode(int charactersPerEpisode) {
+        this.charactersPerEpisode = charactersPerEpisode;
+    }
+
+    /** Adds about {@code bytes} bytes to every character object, to model larger upstream payloads. */
+    public void setCharacterPadding(int bytes) {
+        this.characterPadding = "x".repeat(bytes);
+    }
+
+    /** Sizes of the paged catalogs; changing one changes the ETag of its last page. */
+    public void setCatalogSize(int episodes, int characters) {
+        this.episodeCount = episodes;
+        this.characterCount = characters;
+    }
+
+    /** Requests for {@code path}, including its query string if any, e.g. {@code /api/character?page=2}. */
+    public int hits(String path) {
+        AtomicInteger count = hits.get(path);
+        return count == null ? 0 : count.get();
+    }
+
+    public void reset() {
+        hits.clear();
+        latency = (path, attempt) -> Duration.ZERO;
+        failureStatus = 0;
+        charactersPerEpisode = 5;
+        episodeCount = 51;
+        characterCount = 826;
+        characterPadding = "";
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String query = exchange.getRequestURI().getQuery();
+        String target = query == null ? path : path + "?" + query;
+        int attempt = hits.computeIfAbsent(target, key -> new AtomicInteger()).incrementAndGet();
+        try {
+            Duration delay = latency.delay(path, attempt);
+            if (!delay.isZero()) {
+                Thread.sleep(delay);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (failureStatus > 0) {
+            respond(exchange, failureStatus, "{\"error\":\"injected failure\"}");
+            return;
+        }
+        String[] segments = path.split("/");
+        if (segments.length == 3 && query != null && query.startsWith("page=")) {
+            page(exchange, segments[2], Integer.parseInt(query.substring("page=".length())));
+            return;
+        }
+        if (segments.length != 4) {
+            respond(exchange, 404, "{\"error\":\"There is nothing here\"}");
+            return;
+        }
+        String resource = segments[2];
+        String ids = segments[3];
+        if ("episode".equals(resource) && Integer.parseInt(ids) > episodeCount) {
+            respond(exchange, 404, "{\"error\":\"Episode not found\"}");
+        } else if ("episode".equals(resource)) {
+            respond(exchange, 200, episode(Integer.parseInt(ids)));
+        } else if ("character".equals(resource) && ids.contains(",")) {
+            StringBuilder body = new StringBuilder("[");
+            for (String id : ids.split(",")) {
+                body.append(body.length() > 1 ? "," : "").append(character(Integer.parseInt(id)));
+            }
+            respond(exchange, 200, body.append(']').toString());
+        } else if ("character".equals(resource)) {
+            respond(exchange, 200, character(Integer.parseInt(ids)));
+        } else {
+            respond(exchange, 404, "{\"error\":\"There is nothing here\"}");
+        }
+    }
+
+    private void page(HttpExchange exchange, String resource, int page) throws IOException {
+        boolean episodes = "episode".equals(resource);
+        int count = episodes ? episodeCount : characterCount;
+        int pages = (count + PAGE_SIZE - 1) / PAGE_SIZE;
+        if (page < 1 || page > pages) {
+            respond(exchange, 404, "{\"error\":\"There is nothing here\"}");
+            return;
+        }
+        int first = (page - 1) * PAGE_SIZE + 1;
+        int last = Math.min(count, page * PAGE_SIZE);
+        String etag = "W/\"" + resource + "-" + page + "-" + count + "\"";
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            exchange.getResponseHeaders().set("ETag", etag);
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+        StringBuilder results = new StringBuilder();
+        for (int id = first; id <= last; id++) {
+            results.append(id > first ? "," : "").append(episodes ? episode(id) : character(id));
+        }
+        String next = page < pages ? "\"" + baseUrl() + "api/" + resource + "?page=" + (page + 1) + "\"" : "null";
+        String prev = page > 1 ? "\"" + baseUrl() + "api/" + resource + "?page=" + (page - 1) + "\"" : "null";
+        exchange.getResponseHeaders().set("ETag", etag);
+        respond(exchange, 200, "{\"info\":{\"count\":" + count + ",\"pages\":" + pages + ",\"next\":" + next
+                + ",\"prev\":" + prev + "},\"results\":[" + results + "]}");
+    }
+
+    private String episode(int id) {
+        StringBuilder characters = new StringBuilder();
+        for (int i = 1; i <= charactersPerEpisode; i++) {
+            characters.append(i > 1 ? "," : "").append("\"").append(baseUrl()).append("api/character/").append(i).append("\"");
+        }
+        return "{\"id\":" + id + ",\"name\":\"Episode " + id + "\",\"air_date\":\"December 2, 2013\","
+                + "\"episode\":\"S01E" + id + "\",\"characters\":[" + characters + "],"
+                + "\"url\":\"" + baseUrl() + "api/episode/" + id + "\",\"created\":\"2017-11-10T12:56:33.798Z\"}";
+    }
+
+    private String character(int id) {
+        return "{\"id\":" + id + ",\"name\":\"Character " + id + "\",\"status\":\"Alive\",\"species\":\"Human\","
+                + "\"type\":\"" + characterPadding + "\",\"url\":\"" + baseUrl() + "api/character/" + id + "\",\"created\":\"2017-11-04T18:48:46.250Z\"}";
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}